@@ -0,0 +1,45 @@
+/*
+ * Copyright 2018 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.callback;
+
+/**
+ * A callback which receives events in batches instead of one by one.
+ * <p/>
+ * HiveMQ collects the events for each batched callback and passes them as soon as {@link #maxBatchSize()} events
+ * were collected or the oldest collected event waited for {@link #maxBatchDelayMillis()}, whichever comes first.
+ * The batches of a callback are passed one after another and never concurrently.
+ * <p/>
+ * Batched callbacks are meant for observers like analytics plugins which don't need to react on every single event
+ * immediately, as the overhead of dispatching an event is only paid once per batch.
+ * <p/>
+ * Don't implement this interface on your own, use a more concrete interface when you want
+ * to add a callback
+ *
+ * @since 3.4
+ */
+public interface BatchedCallback extends AsynchronousCallback {
+
+    /**
+     * @return the maximum amount of events in a single batch, must be greater than 0
+     */
+    int maxBatchSize();
+
+    /**
+     * @return the maximum time in milliseconds an event is collected before the batch is passed to the callback
+     */
+    long maxBatchDelayMillis();
+}
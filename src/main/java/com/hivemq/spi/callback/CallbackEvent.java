@@ -0,0 +1,60 @@
+/*
+ * Copyright 2018 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.callback;
+
+import com.google.common.base.Preconditions;
+import com.hivemq.spi.annotations.Immutable;
+import com.hivemq.spi.annotations.NotNull;
+import com.hivemq.spi.message.Message;
+import com.hivemq.spi.security.ClientData;
+
+/**
+ * A single MQTT message event which is passed to a {@link BatchedCallback}, consisting of the message and the
+ * client which sent or received it.
+ *
+ * @param <T> the type of the MQTT message
+ * @since 3.4
+ */
+@Immutable
+public class CallbackEvent<T extends Message> {
+
+    private final T message;
+    private final ClientData clientData;
+
+    public CallbackEvent(@NotNull final T message, @NotNull final ClientData clientData) {
+        Preconditions.checkNotNull(message, "Message must not be null");
+        Preconditions.checkNotNull(clientData, "Client data must not be null");
+        this.message = message;
+        this.clientData = clientData;
+    }
+
+    /**
+     * @return the MQTT message
+     */
+    @NotNull
+    public T getMessage() {
+        return message;
+    }
+
+    /**
+     * @return the information about the client which sent or received the message
+     */
+    @NotNull
+    public ClientData getClientData() {
+        return clientData;
+    }
+}
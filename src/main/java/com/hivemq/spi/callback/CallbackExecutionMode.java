@@ -0,0 +1,45 @@
+/*
+ * Copyright 2018 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.callback;
+
+/**
+ * The different ways HiveMQ executes the {@link SynchronousCallback}s of a callback type.
+ * <p/>
+ * The execution mode is set per callback type with
+ * {@link com.hivemq.spi.callback.registry.CallbackRegistry#setExecutionMode(Class, CallbackExecutionMode)}.
+ *
+ * @since 3.4
+ */
+public enum CallbackExecutionMode {
+
+    /**
+     * The callbacks are executed on the shared callback executor of HiveMQ.
+     * <p/>
+     * This is the default and the best choice for callbacks which don't block.
+     */
+    SHARED,
+
+    /**
+     * The callbacks are executed on threads which are created on demand, so callbacks which block on I/O don't
+     * limit the concurrency of other callbacks.
+     * <p/>
+     * HiveMQ uses virtual threads if the JVM supports them, otherwise an elastic thread pool dedicated to the
+     * callback type. Avoid synchronized blocks around I/O in such callbacks, as they pin virtual threads to their
+     * carrier thread.
+     */
+    ELASTIC
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2018 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.callback.events;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.hivemq.spi.annotations.NotNull;
+import com.hivemq.spi.callback.SynchronousCallback;
+import com.hivemq.spi.message.PUBLISH;
+import com.hivemq.spi.security.ClientData;
+
+/**
+ * Gets called when a {@link PUBLISH} MQTT message arrives, like the {@link OnPublishReceivedCallback}, but lets the
+ * plugin decide about the PUBLISH asynchronously.
+ * <p/>
+ * Use this callback if the decision requires I/O, e.g. a call to a validation service. HiveMQ parks the PUBLISH
+ * until the returned future completes without blocking a thread, so other messages are processed in the meantime.
+ * The order of PUBLISHes of the same client is kept.
+ * <p/>
+ * If the future doesn't complete within {@link #timeoutMillis()} or fails, the {@link #timeoutDecision()} is applied.
+ * <p/>
+ * Multiple callbacks are called in the order of their priority. If a callback rejects the PUBLISH, the following
+ * callbacks are not called. If a callback modifies the PUBLISH, the following callbacks receive the modified PUBLISH.
+ *
+ * @since 3.4
+ */
+public interface AsyncOnPublishReceivedCallback extends SynchronousCallback {
+
+    /**
+     * Called when a {@link PUBLISH} MQTT message arrives.
+     * <p/>
+     * The given PUBLISH must not be modified. Return {@link PublishReceivedDecision#modify(PUBLISH)} with a copy
+     * of the PUBLISH instead.
+     * <p/>
+     * Don't block in this method, return a future which is completed later instead.
+     *
+     * @param publish    the {@link PUBLISH} message which was sent
+     * @param clientData the information of the publishing client
+     * @return a {@link ListenableFuture} succeeding with the decision about the PUBLISH
+     */
+    @NotNull
+    ListenableFuture<PublishReceivedDecision> onPublishReceived(@NotNull PUBLISH publish, @NotNull ClientData clientData);
+
+    /**
+     * @return the time in milliseconds HiveMQ waits for the decision of this callback
+     */
+    long timeoutMillis();
+
+    /**
+     * @return the decision which is applied if the future doesn't complete within {@link #timeoutMillis()} or fails
+     */
+    @NotNull
+    PublishReceivedDecision timeoutDecision();
+
+}
@@ -28,6 +28,8 @@ import com.hivemq.spi.security.ClientData;
  * <b>This callback gets called very often, so make sure you are NOT blocking and you are using
  * proper caching</b>
  * <p/>
+ * If deciding about the PUBLISH requires blocking I/O, use the {@link AsyncOnPublishReceivedCallback} instead.
+ * <p/>
  * When throwing a {@link OnPublishReceivedException} it's possible to optionally disconnect the
  * publishing client.
  * <p/>
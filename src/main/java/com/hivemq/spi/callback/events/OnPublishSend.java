@@ -26,6 +26,8 @@ import com.hivemq.spi.security.ClientData;
  * to receive a message
  * <p/>
  * <b>This callback is called VERY often, so make sure you don't block and use proper caching</b>
+ * <p/>
+ * If the PUBLISHes don't need to be handled one by one, use the {@link OnPublishSendBatch} instead.
  *
  * @author Christian Goetz
  * @since 1.4
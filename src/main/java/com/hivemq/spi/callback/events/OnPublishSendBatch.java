@@ -0,0 +1,45 @@
+/*
+ * Copyright 2018 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.callback.events;
+
+import com.hivemq.spi.annotations.NotNull;
+import com.hivemq.spi.callback.BatchedCallback;
+import com.hivemq.spi.callback.CallbackEvent;
+import com.hivemq.spi.message.PUBLISH;
+
+import java.util.List;
+
+/**
+ * The batched variant of the {@link OnPublishSend} callback, which gets called with all <b>outgoing</b> PUBLISH
+ * messages since the last batch.
+ * <p/>
+ * Use this callback instead of the {@link OnPublishSend} callback if you don't need to react on every single PUBLISH
+ * immediately, e.g. for counting messages.
+ *
+ * @since 3.4
+ */
+public interface OnPublishSendBatch extends BatchedCallback {
+
+    /**
+     * Gets called with the PUBLISHes which were sent by HiveMQ to subscribing clients, in the order they were sent.
+     * <p/>
+     * The list is only valid during this call, so copy the events you want to keep.
+     *
+     * @param events the PUBLISH messages and the information about the receiving clients
+     */
+    void onPublishSend(@NotNull List<CallbackEvent<PUBLISH>> events);
+}
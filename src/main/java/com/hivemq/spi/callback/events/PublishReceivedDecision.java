@@ -0,0 +1,128 @@
+/*
+ * Copyright 2018 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.callback.events;
+
+import com.google.common.base.Preconditions;
+import com.hivemq.spi.annotations.Immutable;
+import com.hivemq.spi.annotations.NotNull;
+import com.hivemq.spi.annotations.Nullable;
+import com.hivemq.spi.message.PUBLISH;
+
+/**
+ * The decision of an {@link AsyncOnPublishReceivedCallback} about an incoming {@link PUBLISH}.
+ *
+ * @since 3.4
+ */
+@Immutable
+public class PublishReceivedDecision {
+
+    /**
+     * The different types of decisions
+     */
+    public enum Type {
+
+        /**
+         * The PUBLISH is processed unchanged.
+         */
+        ACCEPT,
+
+        /**
+         * The PUBLISH is dropped, equivalent to throwing an {@link com.hivemq.spi.callback.exception.OnPublishReceivedException}.
+         */
+        REJECT,
+
+        /**
+         * The PUBLISH is replaced by another PUBLISH.
+         */
+        MODIFY
+    }
+
+    private static final PublishReceivedDecision ACCEPT = new PublishReceivedDecision(Type.ACCEPT, null, false);
+    private static final PublishReceivedDecision REJECT = new PublishReceivedDecision(Type.REJECT, null, false);
+    private static final PublishReceivedDecision REJECT_AND_DISCONNECT = new PublishReceivedDecision(Type.REJECT, null, true);
+
+    private final Type type;
+    private final PUBLISH publish;
+    private final boolean disconnectClient;
+
+    private PublishReceivedDecision(@NotNull final Type type, @Nullable final PUBLISH publish, final boolean disconnectClient) {
+        this.type = type;
+        this.publish = publish;
+        this.disconnectClient = disconnectClient;
+    }
+
+    /**
+     * @return a decision to process the PUBLISH unchanged
+     */
+    @NotNull
+    public static PublishReceivedDecision accept() {
+        return ACCEPT;
+    }
+
+    /**
+     * @param disconnectClient if the publishing client should be disconnected
+     * @return a decision to drop the PUBLISH
+     */
+    @NotNull
+    public static PublishReceivedDecision reject(final boolean disconnectClient) {
+        return disconnectClient ? REJECT_AND_DISCONNECT : REJECT;
+    }
+
+    /**
+     * Creates a decision to process another PUBLISH instead of the received one, e.g. an enriched copy
+     * created with {@link PUBLISH#copy(PUBLISH)}.
+     *
+     * @param publish the PUBLISH which is processed instead of the received one
+     * @return a decision to replace the PUBLISH
+     */
+    @NotNull
+    public static PublishReceivedDecision modify(@NotNull final PUBLISH publish) {
+        Preconditions.checkNotNull(publish, "Publish must not be null");
+        return new PublishReceivedDecision(Type.MODIFY, publish, false);
+    }
+
+    /**
+     * @return the type of this decision
+     */
+    @NotNull
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return the PUBLISH which replaces the received one if the type is {@link Type#MODIFY}, <code>null</code> otherwise
+     */
+    @Nullable
+    public PUBLISH getPublish() {
+        return publish;
+    }
+
+    /**
+     * @return if the publishing client should be disconnected, only <code>true</code> for {@link Type#REJECT}
+     */
+    public boolean getDisconnectClient() {
+        return disconnectClient;
+    }
+
+    @Override
+    public String toString() {
+        return "PublishReceivedDecision{" +
+                "type=" + type +
+                ", disconnectClient=" + disconnectClient +
+                '}';
+    }
+}
@@ -23,6 +23,8 @@ import com.hivemq.spi.security.ClientData;
 
 /**
  * This callback gets called after a PUBACK message was received from a client
+ * <p/>
+ * If the PUBACKs don't need to be handled one by one, use the {@link OnPubackReceivedBatch} instead.
  *
  * @author Christian Goetz
  * @since 1.4
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2018 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.callback.lowlevel;
+
+import com.hivemq.spi.annotations.NotNull;
+import com.hivemq.spi.callback.BatchedCallback;
+import com.hivemq.spi.callback.CallbackEvent;
+import com.hivemq.spi.callback.LowlevelCallback;
+import com.hivemq.spi.message.PUBACK;
+
+import java.util.List;
+
+/**
+ * The batched variant of the {@link OnPubackReceived} callback, which gets called with all PUBACK messages
+ * received from clients since the last batch.
+ *
+ * @since 3.4
+ */
+public interface OnPubackReceivedBatch extends BatchedCallback, LowlevelCallback {
+
+    /**
+     * Gets called with the PUBACK messages which were received by HiveMQ, in the order they were received.
+     * This callback does not allow to interfere with HiveMQ and is for information purposes only.
+     * <p/>
+     * The list is only valid during this call, so copy the events you want to keep.
+     *
+     * @param events the PUBACK messages and the ClientData of the clients which sent them
+     */
+    void onPubackReceived(@NotNull List<CallbackEvent<PUBACK>> events);
+}
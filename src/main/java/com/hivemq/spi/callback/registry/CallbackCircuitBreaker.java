@@ -0,0 +1,210 @@
+/*
+ * Copyright 2018 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.callback.registry;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+import com.hivemq.spi.annotations.NotNull;
+import com.hivemq.spi.annotations.ThreadSafe;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A circuit breaker which enforces the {@link CallbackLatencyBudget} of a single callback.
+ * <p>
+ * Call {@link #allowCall()} before calling the callback. If it returns {@link #NO_PERMIT}, the callback is bypassed
+ * and the {@link CallbackLatencyBudget#getBypassOutcome()} has to be applied. Otherwise call the callback and pass the
+ * returned permit and the duration of the call to {@link #recordCall(long, long)}. The permit ties the duration to the
+ * state the call was allowed in, so only the trial call after a probation can close or open the breaker again.
+ * If the trial call is never recorded, e.g. because the callback threw an exception, another trial call is allowed
+ * after the next probation.
+ * <p>
+ * {@link #allowCall()} is a single volatile read as long as the callback stays within its budget.
+ *
+ * @since 3.4
+ */
+@ThreadSafe
+public class CallbackCircuitBreaker {
+
+    /**
+     * The states of a circuit breaker
+     */
+    public enum State {
+
+        /**
+         * The callback is called.
+         */
+        CLOSED,
+
+        /**
+         * The callback is bypassed until the probation is over.
+         */
+        OPEN,
+
+        /**
+         * The probation is over and a single trial call is in progress, all other calls are bypassed.
+         * If the trial call isn't recorded within another probation, the next call is allowed as a new trial.
+         */
+        HALF_OPEN
+    }
+
+    /**
+     * Returned by {@link #allowCall()} if the callback has to be bypassed
+     */
+    public static final long NO_PERMIT = -1;
+
+    /**
+     * The permit of calls which were allowed while the breaker was closed
+     */
+    private static final long CLOSED_PERMIT = 0;
+
+    private final CallbackLatencyBudget budget;
+    private final long budgetNanos;
+    private final long probationNanos;
+    private final Ticker ticker;
+
+    private volatile State state = State.CLOSED;
+    private final AtomicInteger consecutiveViolations = new AtomicInteger();
+    private final AtomicLong tripCount = new AtomicLong();
+
+    /**
+     * The time the breaker opened or the last trial call was allowed, guarded by <code>this</code>
+     */
+    private long probationStartedAt;
+
+    /**
+     * The permit of the current trial call, guarded by <code>this</code>
+     */
+    private long trialPermit = CLOSED_PERMIT;
+
+    /**
+     * @param budget the latency budget of the callback
+     */
+    public CallbackCircuitBreaker(@NotNull final CallbackLatencyBudget budget) {
+        this(budget, Ticker.systemTicker());
+    }
+
+    CallbackCircuitBreaker(@NotNull final CallbackLatencyBudget budget, @NotNull final Ticker ticker) {
+        Preconditions.checkNotNull(budget, "Budget must not be null");
+        Preconditions.checkNotNull(ticker, "Ticker must not be null");
+        this.budget = budget;
+        this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(budget.getBudgetMillis());
+        this.probationNanos = TimeUnit.MILLISECONDS.toNanos(budget.getProbationMillis());
+        this.ticker = ticker;
+    }
+
+    /**
+     * @return the permit which has to be passed to {@link #recordCall(long, long)} if the callback should be called,
+     * {@link #NO_PERMIT} if it should be bypassed
+     */
+    public long allowCall() {
+        if (state == State.CLOSED) {
+            return CLOSED_PERMIT;
+        }
+        synchronized (this) {
+            if (state != State.CLOSED) {
+                final long now = ticker.read();
+                //a trial call which is never recorded would otherwise keep the breaker half open forever
+                if (now - probationStartedAt >= probationNanos) {
+                    probationStartedAt = now;
+                    state = State.HALF_OPEN;
+                    return ++trialPermit;
+                }
+            }
+            return state == State.CLOSED ? CLOSED_PERMIT : NO_PERMIT;
+        }
+    }
+
+    /**
+     * Records the duration of a call which was allowed by {@link #allowCall()}.
+     * <p>
+     * Calls which were allowed while the breaker was closed only count towards tripping the breaker as long as it is
+     * still closed. While the breaker is half open, only the current trial call closes or opens it.
+     *
+     * @param permit        the permit returned by {@link #allowCall()} for the call
+     * @param durationNanos the duration of the call in nanoseconds
+     */
+    public void recordCall(final long permit, final long durationNanos) {
+        if (permit == NO_PERMIT) {
+            return;
+        }
+        final boolean violation = durationNanos > budgetNanos;
+        final State current = state;
+        if (permit == CLOSED_PERMIT) {
+            if (current != State.CLOSED) {
+                //calls which were allowed before the breaker opened are ignored
+                return;
+            }
+            if (!violation) {
+                //avoid a write as long as the callback stays within its budget
+                if (consecutiveViolations.get() != 0) {
+                    consecutiveViolations.set(0);
+                }
+            } else if (consecutiveViolations.incrementAndGet() >= budget.getTripThreshold()) {
+                synchronized (this) {
+                    if (state == State.CLOSED) {
+                        trip();
+                    }
+                }
+            }
+        } else if (current == State.HALF_OPEN) {
+            synchronized (this) {
+                if (state != State.HALF_OPEN || permit != trialPermit) {
+                    //a trial call which timed out and was replaced by a newer trial
+                    return;
+                }
+                if (violation) {
+                    trip();
+                } else {
+                    consecutiveViolations.set(0);
+                    state = State.CLOSED;
+                }
+            }
+        }
+    }
+
+    private void trip() {
+        probationStartedAt = ticker.read();
+        state = State.OPEN;
+        tripCount.incrementAndGet();
+    }
+
+    /**
+     * @return the current state of this circuit breaker
+     */
+    @NotNull
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * @return how often the circuit breaker opened
+     */
+    public long getTripCount() {
+        return tripCount.get();
+    }
+
+    /**
+     * @return the latency budget of the callback
+     */
+    @NotNull
+    public CallbackLatencyBudget getBudget() {
+        return budget;
+    }
+}
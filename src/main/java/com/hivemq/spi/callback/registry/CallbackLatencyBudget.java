@@ -0,0 +1,114 @@
+/*
+ * Copyright 2018 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.callback.registry;
+
+import com.google.common.base.Preconditions;
+import com.hivemq.spi.annotations.Immutable;
+import com.hivemq.spi.annotations.NotNull;
+
+/**
+ * The latency budget of a callback, which is set with
+ * {@link CallbackRegistry#setLatencyBudget(com.hivemq.spi.callback.Callback, CallbackLatencyBudget)}.
+ * <p>
+ * If the callback exceeds its budget for {@link #getTripThreshold()} consecutive calls, it is bypassed for
+ * {@link #getProbationMillis()} milliseconds and HiveMQ applies the {@link #getBypassOutcome()} instead of calling it.
+ * After the probation a single call is made. If it is within the budget the callback is called again normally,
+ * otherwise it is bypassed for another probation period.
+ *
+ * @since 3.4
+ */
+@Immutable
+public class CallbackLatencyBudget {
+
+    /**
+     * The outcome HiveMQ applies while a callback is bypassed
+     */
+    public enum BypassOutcome {
+
+        /**
+         * Continue as if the callback was called and didn't change or reject anything.
+         */
+        CONTINUE,
+
+        /**
+         * Continue as if the callback rejected the event, e.g. failed authentication or dropped the PUBLISH.
+         */
+        REJECT
+    }
+
+    private final long budgetMillis;
+    private final int tripThreshold;
+    private final long probationMillis;
+    private final BypassOutcome bypassOutcome;
+
+    /**
+     * @param budgetMillis    the maximum time in milliseconds a single call of the callback should take
+     * @param tripThreshold   the amount of consecutive calls exceeding the budget after which the callback is bypassed
+     * @param probationMillis the time in milliseconds the callback is bypassed
+     * @param bypassOutcome   the outcome which is applied while the callback is bypassed
+     */
+    public CallbackLatencyBudget(final long budgetMillis, final int tripThreshold, final long probationMillis,
+                                 @NotNull final BypassOutcome bypassOutcome) {
+        Preconditions.checkArgument(budgetMillis > 0, "Budget must be greater than 0");
+        Preconditions.checkArgument(tripThreshold > 0, "Trip threshold must be greater than 0");
+        Preconditions.checkArgument(probationMillis > 0, "Probation must be greater than 0");
+        Preconditions.checkNotNull(bypassOutcome, "Bypass outcome must not be null");
+        this.budgetMillis = budgetMillis;
+        this.tripThreshold = tripThreshold;
+        this.probationMillis = probationMillis;
+        this.bypassOutcome = bypassOutcome;
+    }
+
+    /**
+     * @return the maximum time in milliseconds a single call of the callback should take
+     */
+    public long getBudgetMillis() {
+        return budgetMillis;
+    }
+
+    /**
+     * @return the amount of consecutive calls exceeding the budget after which the callback is bypassed
+     */
+    public int getTripThreshold() {
+        return tripThreshold;
+    }
+
+    /**
+     * @return the time in milliseconds the callback is bypassed
+     */
+    public long getProbationMillis() {
+        return probationMillis;
+    }
+
+    /**
+     * @return the outcome which is applied while the callback is bypassed
+     */
+    @NotNull
+    public BypassOutcome getBypassOutcome() {
+        return bypassOutcome;
+    }
+
+    @Override
+    public String toString() {
+        return "CallbackLatencyBudget{" +
+                "budgetMillis=" + budgetMillis +
+                ", tripThreshold=" + tripThreshold +
+                ", probationMillis=" + probationMillis +
+                ", bypassOutcome=" + bypassOutcome +
+                '}';
+    }
+}
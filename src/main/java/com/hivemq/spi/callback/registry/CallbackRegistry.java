@@ -16,8 +16,12 @@
 
 package com.hivemq.spi.callback.registry;
 
+import com.google.common.collect.ImmutableList;
 import com.hivemq.spi.PluginEntryPoint;
+import com.hivemq.spi.annotations.NotNull;
 import com.hivemq.spi.callback.Callback;
+import com.hivemq.spi.callback.CallbackExecutionMode;
+import com.hivemq.spi.callback.SynchronousCallback;
 import com.hivemq.spi.callback.schedule.ScheduledCallback;
 
 import java.util.List;
@@ -53,6 +57,26 @@ public interface CallbackRegistry {
      */
     void addCallbacks(Callback... callbacks);
 
+    /**
+     * Makes a callback available to HiveMQ, which is only called for PUBLISHes with a topic matching the given
+     * topic filter.
+     * <p/>
+     * HiveMQ matches the topic of a PUBLISH once against the filters of all topic scoped callbacks, so callbacks
+     * which are only interested in a few topics don't cause any overhead for other PUBLISHes.
+     * <p/>
+     * Only callbacks which are called for single PUBLISHes can be scoped to a topic, these are
+     * {@link com.hivemq.spi.callback.events.OnPublishReceivedCallback},
+     * {@link com.hivemq.spi.callback.events.AsyncOnPublishReceivedCallback},
+     * {@link com.hivemq.spi.callback.events.BeforePublishSendCallback} and
+     * {@link com.hivemq.spi.callback.events.OnPublishSend}.
+     *
+     * @param callback    which should be added
+     * @param topicFilter the MQTT topic filter, which may contain wildcards, e.g. <code>alarms/#</code>
+     * @throws IllegalArgumentException if the callback can't be scoped to a topic or the topic filter is invalid
+     * @since 3.4
+     */
+    void addCallback(@NotNull Callback callback, @NotNull String topicFilter);
+
     /**
      * Returns true if a callbacks for the specific callback class is registered, false otherwise.
      *
@@ -71,6 +95,41 @@ public interface CallbackRegistry {
      */
     <T extends Callback> List<T> getCallbacks(Class<T> callbackClass);
 
+    /**
+     * Returns an immutable snapshot of all available callbacks for a specific callback class, sorted by their
+     * {@link SynchronousCallback#priority()} if the callback class is a {@link SynchronousCallback}.
+     * <p/>
+     * The snapshot is only rebuilt when callbacks are added or removed, so the same instance is returned until then.
+     * Callbacks with a priority which changes at runtime are not re-sorted.
+     * <p/>
+     * The snapshot includes callbacks which were scoped to a topic filter with
+     * {@link #addCallback(Callback, String)}, without matching them against any topic. Callbacks for PUBLISHes must
+     * therefore be dispatched with {@link #getSortedCallbacks(Class, String)}, otherwise topic scoped callbacks are
+     * called for every topic.
+     *
+     * @param callbackClass interface of the callback for which the
+     *                      classes should be retrieved
+     * @return all callbacks found for the callbackClass in the order they are called, including topic scoped callbacks
+     * @see CallbackSnapshots
+     * @since 3.4
+     */
+    @NotNull
+    <T extends Callback> ImmutableList<T> getSortedCallbacks(@NotNull Class<T> callbackClass);
+
+    /**
+     * Returns the callbacks for a specific callback class which are called for a PUBLISH with the given topic,
+     * these are all callbacks which are not scoped to a topic and the callbacks with a matching topic filter.
+     *
+     * @param callbackClass interface of the callback for which the
+     *                      classes should be retrieved
+     * @param topic         the topic of the PUBLISH
+     * @return all callbacks found for the callbackClass and topic in the order they are called
+     * @see #addCallback(Callback, String)
+     * @since 3.4
+     */
+    @NotNull
+    <T extends Callback> ImmutableList<T> getSortedCallbacks(@NotNull Class<T> callbackClass, @NotNull String topic);
+
     /**
      * Returns a set of all callback interfaces for which callbacks are available.
      *
@@ -115,4 +174,48 @@ public interface CallbackRegistry {
      * of your {@link ScheduledCallback} is static, it's not recommended to do a manual reload.
      */
     void reloadScheduledCallbackExpression(final ScheduledCallback scheduledCallback);
+
+    /**
+     * Sets the latency budget of a callback.
+     * <p/>
+     * If the callback exceeds its budget too often, HiveMQ bypasses it for a probation period and applies the
+     * {@link CallbackLatencyBudget#getBypassOutcome()} instead, so a slow callback doesn't degrade the whole broker.
+     * Every time the circuit breaker opens, the
+     * {@link com.hivemq.spi.metrics.HiveMQMetrics#PLUGIN_CALLBACKS_CIRCUIT_BREAKER_TRIPPED_COUNT} metric is incremented.
+     *
+     * @param callback which was added to this registry
+     * @param budget   the latency budget of the callback
+     * @see CallbackCircuitBreaker
+     * @since 3.4
+     */
+    void setLatencyBudget(@NotNull Callback callback, @NotNull CallbackLatencyBudget budget);
+
+    /**
+     * Removes the latency budget of a callback, so it is never bypassed.
+     *
+     * @param callback which was added to this registry
+     * @since 3.4
+     */
+    void removeLatencyBudget(@NotNull Callback callback);
+
+    /**
+     * Sets how HiveMQ executes the callbacks of a specific callback class.
+     * <p/>
+     * Use {@link CallbackExecutionMode#ELASTIC} for callbacks which block on I/O, e.g. authentication against a database.
+     *
+     * @param callbackClass interface of the callbacks for which the execution mode is set
+     * @param executionMode the execution mode for all callbacks of the callback class
+     * @since 3.4
+     */
+    void setExecutionMode(@NotNull Class<? extends SynchronousCallback> callbackClass, @NotNull CallbackExecutionMode executionMode);
+
+    /**
+     * Returns how HiveMQ executes the callbacks of a specific callback class.
+     *
+     * @param callbackClass interface of the callbacks for which the execution mode should be retrieved
+     * @return the execution mode for the callback class, {@link CallbackExecutionMode#SHARED} if none was set
+     * @since 3.4
+     */
+    @NotNull
+    CallbackExecutionMode getExecutionMode(@NotNull Class<? extends SynchronousCallback> callbackClass);
 }
@@ -0,0 +1,282 @@
+/*
+ * Copyright 2018 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.callback.registry;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Multimaps;
+import com.hivemq.spi.annotations.NotNull;
+import com.hivemq.spi.annotations.ThreadSafe;
+import com.hivemq.spi.callback.Callback;
+import com.hivemq.spi.callback.SynchronousCallback;
+import com.hivemq.spi.callback.events.AsyncOnPublishReceivedCallback;
+import com.hivemq.spi.callback.events.BeforePublishSendCallback;
+import com.hivemq.spi.callback.events.OnPublishReceivedCallback;
+import com.hivemq.spi.callback.events.OnPublishSend;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable, pre-sorted snapshots of registered callbacks per callback interface, which can back the
+ * {@link CallbackRegistry#getSortedCallbacks(Class)} method.
+ * <p>
+ * The snapshots are rebuilt whenever a callback is added or removed, so {@link #get(Class)} is a single volatile read
+ * and a map lookup without any allocation. This fits the typical usage of callbacks, which are registered rarely
+ * but dispatched very often.
+ * <p>
+ * A callback is contained in the snapshot of every callback interface it implements. {@link SynchronousCallback}s
+ * are sorted by their {@link SynchronousCallback#priority()}, all other callbacks and callbacks with the same
+ * priority keep the order in which they were added. The priority is read when the snapshot is built.
+ * <p>
+ * Callbacks can be scoped to a topic filter with {@link #add(Callback, String)}. These callbacks are only returned
+ * by {@link #get(Class, String)} for matching topics. The topic filters are compiled once when the callback is added.
+ *
+ * @since 3.4
+ */
+@ThreadSafe
+public class CallbackSnapshots {
+
+    private static final Comparator<Callback> PRIORITY_COMPARATOR = new Comparator<Callback>() {
+        @Override
+        public int compare(final Callback o1, final Callback o2) {
+            return Integer.compare(((SynchronousCallback) o1).priority(), ((SynchronousCallback) o2).priority());
+        }
+    };
+
+    /**
+     * All added callbacks in the order they were added, guarded by <code>this</code>
+     */
+    private final List<Callback> callbacks = new ArrayList<>();
+
+    /**
+     * The topic filters of topic scoped callbacks, guarded by <code>this</code>
+     */
+    private final Map<Callback, CallbackTopicFilter> topicFilters = new HashMap<>();
+
+    private volatile ImmutableMap<Class<?>, Snapshot> snapshots = ImmutableMap.of();
+
+    /**
+     * Adds a callback to the snapshots of all callback interfaces it implements.
+     * Adding the same callback multiple times has no effect.
+     *
+     * @param callback the callback to add
+     */
+    public synchronized void add(@NotNull final Callback callback) {
+        Preconditions.checkNotNull(callback, "Callback must not be null");
+        if (!callbacks.contains(callback)) {
+            callbacks.add(callback);
+            rebuild();
+        }
+    }
+
+    /**
+     * Adds a callback which is only returned by {@link #get(Class, String)} for topics matching the given topic filter.
+     * If the callback was already added, its topic filter is replaced.
+     *
+     * Only callbacks for PUBLISH messages can be scoped to a topic filter, which are {@link OnPublishReceivedCallback},
+     * {@link AsyncOnPublishReceivedCallback}, {@link BeforePublishSendCallback} and {@link OnPublishSend}.
+     *
+     * @param callback    the callback to add
+     * @param topicFilter the MQTT topic filter, which may contain wildcards
+     * @throws IllegalArgumentException if the callback is not a callback for PUBLISH messages or the topic filter is invalid
+     */
+    public synchronized void add(@NotNull final Callback callback, @NotNull final String topicFilter) {
+        Preconditions.checkNotNull(callback, "Callback must not be null");
+        Preconditions.checkArgument(isPublishCallback(callback),
+                "Only callbacks for PUBLISH messages can be scoped to a topic filter, but was %s", callback.getClass().getName());
+        topicFilters.put(callback, CallbackTopicFilter.compile(topicFilter));
+        if (!callbacks.contains(callback)) {
+            callbacks.add(callback);
+        }
+        rebuild();
+    }
+
+    /**
+     * Removes a callback from all snapshots.
+     *
+     * @param callback the callback to remove
+     */
+    public synchronized void remove(@NotNull final Callback callback) {
+        Preconditions.checkNotNull(callback, "Callback must not be null");
+        if (callbacks.remove(callback)) {
+            topicFilters.remove(callback);
+            rebuild();
+        }
+    }
+
+    /**
+     * Removes all callbacks which implement the given callback interface.
+     *
+     * @param callbackClass the callback interface
+     */
+    public synchronized void removeAll(@NotNull final Class<? extends Callback> callbackClass) {
+        Preconditions.checkNotNull(callbackClass, "Callback class must not be null");
+        final ImmutableList<? extends Callback> removed = get(callbackClass);
+        if (callbacks.removeAll(removed)) {
+            topicFilters.keySet().removeAll(removed);
+            rebuild();
+        }
+    }
+
+    /**
+     * Removes all callbacks.
+     */
+    public synchronized void clear() {
+        callbacks.clear();
+        topicFilters.clear();
+        snapshots = ImmutableMap.of();
+    }
+
+    /**
+     * Returns the snapshot of the callbacks which implement the given callback interface. The same instance is returned
+     * until callbacks are added or removed.
+     * <p>
+     * Topic scoped callbacks are included without matching them against a topic, so PUBLISH callbacks must be
+     * dispatched with {@link #get(Class, String)}.
+     *
+     * @param callbackClass the callback interface
+     * @param <T>           the type of the callback interface
+     * @return the sorted callbacks for the callback interface including topic scoped callbacks, an empty list if there are none
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public <T extends Callback> ImmutableList<T> get(@NotNull final Class<T> callbackClass) {
+        final Snapshot snapshot = snapshots.get(callbackClass);
+        return snapshot == null ? ImmutableList.<T>of() : (ImmutableList<T>) snapshot.callbacks;
+    }
+
+    /**
+     * Returns the callbacks which implement the given callback interface and are either not scoped to a topic or
+     * scoped to a topic filter which matches the given topic.
+     * <p>
+     * If none of the callbacks is scoped to a topic, this is as cheap as {@link #get(Class)}. Otherwise the topic is
+     * split only once and matched against the compiled topic filters.
+     *
+     * @param callbackClass the callback interface
+     * @param topic         the topic of the PUBLISH the callbacks are called for
+     * @param <T>           the type of the callback interface
+     * @return the sorted callbacks for the callback interface and topic, an empty list if there are none
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public <T extends Callback> ImmutableList<T> get(@NotNull final Class<T> callbackClass, @NotNull final String topic) {
+        final Snapshot snapshot = snapshots.get(callbackClass);
+        if (snapshot == null) {
+            return ImmutableList.of();
+        }
+        if (!snapshot.scoped) {
+            return (ImmutableList<T>) snapshot.callbacks;
+        }
+        return (ImmutableList<T>) snapshot.matching(CallbackTopicFilter.split(topic));
+    }
+
+    private void rebuild() {
+        final ListMultimap<Class<?>, Callback> byInterface = ArrayListMultimap.create();
+        for (final Callback callback : callbacks) {
+            for (final Class<?> callbackInterface : callbackInterfaces(callback.getClass())) {
+                byInterface.put(callbackInterface, callback);
+            }
+        }
+
+        final ImmutableMap.Builder<Class<?>, Snapshot> builder = ImmutableMap.builder();
+        for (final Map.Entry<Class<?>, List<Callback>> entry : Multimaps.asMap(byInterface).entrySet()) {
+            final List<Callback> list = entry.getValue();
+            if (SynchronousCallback.class.isAssignableFrom(entry.getKey())) {
+                //the sort is stable, so callbacks with the same priority keep their order
+                Collections.sort(list, PRIORITY_COMPARATOR);
+            }
+            final CallbackTopicFilter[] filters = new CallbackTopicFilter[list.size()];
+            boolean scoped = false;
+            for (int i = 0; i < filters.length; i++) {
+                filters[i] = topicFilters.get(list.get(i));
+                scoped |= filters[i] != null;
+            }
+            builder.put(entry.getKey(), new Snapshot(ImmutableList.copyOf(list), filters, scoped));
+        }
+        snapshots = builder.build();
+    }
+
+    private static Set<Class<?>> callbackInterfaces(final Class<?> type) {
+        final Set<Class<?>> result = new LinkedHashSet<>();
+        collectCallbackInterfaces(type, result);
+        return result;
+    }
+
+    private static void collectCallbackInterfaces(final Class<?> type, final Set<Class<?>> result) {
+        if (type == null) {
+            return;
+        }
+        for (final Class<?> implemented : type.getInterfaces()) {
+            if (Callback.class.isAssignableFrom(implemented) && result.add(implemented)) {
+                collectCallbackInterfaces(implemented, result);
+            }
+        }
+        collectCallbackInterfaces(type.getSuperclass(), result);
+    }
+
+    private static boolean isPublishCallback(final Callback callback) {
+        return callback instanceof OnPublishReceivedCallback ||
+                callback instanceof AsyncOnPublishReceivedCallback ||
+                callback instanceof BeforePublishSendCallback ||
+                callback instanceof OnPublishSend;
+    }
+
+    /**
+     * The sorted callbacks of a single callback interface.
+     */
+    private static class Snapshot {
+
+        private final ImmutableList<Callback> callbacks;
+
+        /**
+         * The topic filters of the callbacks at the same index, <code>null</code> for callbacks which aren't scoped
+         */
+        private final CallbackTopicFilter[] filters;
+        private final boolean scoped;
+
+        private Snapshot(final ImmutableList<Callback> callbacks, final CallbackTopicFilter[] filters, final boolean scoped) {
+            this.callbacks = callbacks;
+            this.filters = filters;
+            this.scoped = scoped;
+        }
+
+        private ImmutableList<Callback> matching(final String[] topicLevels) {
+            ImmutableList.Builder<Callback> builder = null;
+            for (int i = 0; i < filters.length; i++) {
+                final boolean matches = filters[i] == null || filters[i].matches(topicLevels);
+                if (!matches && builder == null) {
+                    //only copy the callbacks if at least one doesn't match
+                    builder = ImmutableList.builder();
+                    builder.addAll(callbacks.subList(0, i));
+                } else if (matches && builder != null) {
+                    builder.add(callbacks.get(i));
+                }
+            }
+            return builder == null ? callbacks : builder.build();
+        }
+    }
+}
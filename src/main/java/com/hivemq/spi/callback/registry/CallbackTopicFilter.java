@@ -0,0 +1,119 @@
+/*
+ * Copyright 2018 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.callback.registry;
+
+import com.google.common.base.Preconditions;
+import com.hivemq.spi.annotations.Immutable;
+import com.hivemq.spi.annotations.NotNull;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * A topic filter of a topic scoped callback, which is split into its levels once when the callback is added, so
+ * matching a topic only compares the levels.
+ * <p>
+ * The {@link com.hivemq.spi.topic.PermissionTopicMatcher} is not used, because it splits both topics again on every
+ * match, strips trailing slashes like permissions do and lets wildcards at the first level match topics starting
+ * with <code>$</code>, which MQTT forbids for subscriptions.
+ *
+ * @since 3.4
+ */
+@Immutable
+final class CallbackTopicFilter {
+
+    private static final String MULTI_LEVEL_WILDCARD = "#";
+    private static final String SINGLE_LEVEL_WILDCARD = "+";
+
+    private final String filter;
+    private final String[] levels;
+
+    private CallbackTopicFilter(final String filter, final String[] levels) {
+        this.filter = filter;
+        this.levels = levels;
+    }
+
+    /**
+     * @param filter the MQTT topic filter, which may contain wildcards
+     * @return the compiled topic filter
+     * @throws IllegalArgumentException if the topic filter is empty or contains wildcards at invalid positions
+     */
+    @NotNull
+    static CallbackTopicFilter compile(@NotNull final String filter) {
+        Preconditions.checkNotNull(filter, "Topic filter must not be null");
+        Preconditions.checkArgument(!filter.isEmpty(), "Topic filter must not be empty");
+        final String[] levels = split(filter);
+        for (int i = 0; i < levels.length; i++) {
+            final String level = levels[i];
+            if (level.contains(MULTI_LEVEL_WILDCARD)) {
+                Preconditions.checkArgument(level.equals(MULTI_LEVEL_WILDCARD) && i == levels.length - 1,
+                        "The multi level wildcard must be the last level of the topic filter %s", filter);
+            } else if (level.contains(SINGLE_LEVEL_WILDCARD)) {
+                Preconditions.checkArgument(level.equals(SINGLE_LEVEL_WILDCARD),
+                        "The single level wildcard must occupy an entire level of the topic filter %s", filter);
+            }
+        }
+        return new CallbackTopicFilter(filter, levels);
+    }
+
+    /**
+     * @param topic a topic without wildcards
+     * @return the levels of the topic, which can be matched against multiple filters
+     */
+    @NotNull
+    static String[] split(@NotNull final String topic) {
+        return StringUtils.splitPreserveAllTokens(topic, '/');
+    }
+
+    /**
+     * Matches a topic against this filter. Wildcards in the first level don't match topics starting with <code>$</code>.
+     *
+     * @param topicLevels the levels of the topic, created with {@link #split(String)}
+     * @return <code>true</code> if the topic matches this filter
+     */
+    boolean matches(@NotNull final String[] topicLevels) {
+        for (int i = 0; i < levels.length; i++) {
+            final String level = levels[i];
+            if (level.equals(MULTI_LEVEL_WILDCARD)) {
+                return i > 0 || !isSystemTopic(topicLevels);
+            }
+            if (i >= topicLevels.length) {
+                return false;
+            }
+            if (level.equals(SINGLE_LEVEL_WILDCARD)) {
+                if (i == 0 && isSystemTopic(topicLevels)) {
+                    return false;
+                }
+            } else if (!level.equals(topicLevels[i])) {
+                return false;
+            }
+        }
+        return levels.length == topicLevels.length;
+    }
+
+    private static boolean isSystemTopic(final String[] topicLevels) {
+        return topicLevels.length > 0 && topicLevels[0].startsWith("$");
+    }
+
+    @NotNull
+    String getFilter() {
+        return filter;
+    }
+
+    @Override
+    public String toString() {
+        return filter;
+    }
+}
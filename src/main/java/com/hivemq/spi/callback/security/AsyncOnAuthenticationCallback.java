@@ -0,0 +1,65 @@
+/*
+ * Copyright 2018 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.callback.security;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.hivemq.spi.annotations.NotNull;
+import com.hivemq.spi.callback.SynchronousCallback;
+import com.hivemq.spi.callback.exception.AuthenticationException;
+import com.hivemq.spi.security.ClientCredentialsData;
+
+/**
+ * This callback gets called when a CONNECT message arrives and is meant to
+ * perform the authentication of a client asynchronously.
+ * <p/>
+ * In contrast to the {@link OnAuthenticationCallback}, no thread is held while the credentials are checked,
+ * so the credential lookups of many connecting clients can be pipelined, e.g. against a remote user database.
+ * <p/>
+ * HiveMQ calls this callback for at most {@link #maxConcurrentCalls()} clients at the same time. Further
+ * connecting clients wait until a check completes. If a check doesn't complete within {@link #timeoutMillis()}
+ * or the future fails with another exception than {@link AuthenticationException}, the authentication failed.
+ * <p/>
+ * When more authentication callbacks are added only one must return
+ * a positive result to successfully authenticate the client.
+ *
+ * @since 3.4
+ */
+public interface AsyncOnAuthenticationCallback extends SynchronousCallback {
+
+    /**
+     * Checks the credentials after a CONNECT message arrives.
+     * <p/>
+     * Don't block in this method, return a future which is completed later instead.
+     *
+     * @param clientData the client credentials
+     * @return a {@link ListenableFuture} succeeding with <code>true</code> when the authentication was successful,
+     * failing with an {@link AuthenticationException} when you want the client to disconnect immediately with a given return code
+     */
+    @NotNull
+    ListenableFuture<Boolean> checkCredentials(@NotNull ClientCredentialsData clientData);
+
+    /**
+     * @return the time in milliseconds HiveMQ waits for the result of a single check
+     */
+    long timeoutMillis();
+
+    /**
+     * @return the maximum amount of calls of this callback which are in progress at the same time
+     */
+    int maxConcurrentCalls();
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2018 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.callback.security;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.hivemq.spi.annotations.NotNull;
+import com.hivemq.spi.callback.SynchronousCallback;
+import com.hivemq.spi.callback.security.authorization.AuthorizationBehaviour;
+import com.hivemq.spi.security.ClientData;
+import com.hivemq.spi.topic.MqttTopicPermission;
+
+import java.util.List;
+
+/**
+ * This callback returns a list of {@link MqttTopicPermission}s asynchronously.
+ * <p/>
+ * In contrast to the {@link OnAuthorizationCallback}, no thread is held while the permissions are looked up.
+ * <p/>
+ * HiveMQ calls this callback for at most {@link #maxConcurrentCalls()} clients at the same time. Further
+ * requests wait until a lookup completes. If a lookup doesn't complete within {@link #timeoutMillis()} or
+ * the future fails, no permissions are used and the {@link #getDefaultBehaviour()} applies.
+ * <p/>
+ * It is <strong>highly</strong> recommended to use proper caching as this callback is
+ * called every time HiveMQ asks for the client permissions.
+ *
+ * @since 3.4
+ */
+public interface AsyncOnAuthorizationCallback extends SynchronousCallback {
+
+    /**
+     * Returns a list of {@link MqttTopicPermission}s for this client.
+     * <p/>
+     * Don't block in this method, return a future which is completed later instead.
+     *
+     * @param clientData information about the client
+     * @return a {@link ListenableFuture} succeeding with the {@link MqttTopicPermission}s for the given client
+     */
+    @NotNull
+    ListenableFuture<List<MqttTopicPermission>> getPermissionsForClient(@NotNull ClientData clientData);
+
+    /**
+     * Declares the default behaviour to use if none of the {@link MqttTopicPermission}s returned by getPermissionForClient matches an activity.
+     * The default behaviour should be {@link AuthorizationBehaviour}.NEXT in most cases.
+     *
+     * @return the default behaviour to use if none of the {@link MqttTopicPermission}s matches an activity.
+     */
+    @NotNull
+    AuthorizationBehaviour getDefaultBehaviour();
+
+    /**
+     * @return the time in milliseconds HiveMQ waits for the permissions of a client
+     */
+    long timeoutMillis();
+
+    /**
+     * @return the maximum amount of calls of this callback which are in progress at the same time
+     */
+    int maxConcurrentCalls();
+
+}
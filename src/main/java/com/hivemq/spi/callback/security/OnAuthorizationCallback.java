@@ -32,6 +32,8 @@ import java.util.List;
  * <p/>
  * It is <strong>highly</strong> recommended to use proper caching as this callback is
  * called every time HiveMQ asks for the client permissions.
+ * <p/>
+ * If the lookup requires blocking I/O, consider using the {@link AsyncOnAuthorizationCallback} instead.
  *
  * @author Christian Goetz
  * @author Christoph Schäbel
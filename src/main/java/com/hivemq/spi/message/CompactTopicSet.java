@@ -0,0 +1,216 @@
+/*
+ * Copyright 2018 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.message;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+import com.hivemq.spi.annotations.Immutable;
+import com.hivemq.spi.annotations.NotNull;
+import com.hivemq.spi.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A compact, immutable set of topics and their QoS, e.g. all subscriptions of a single client.
+ * <p/>
+ * In contrast to a {@link java.util.Set} of {@link Topic}s, this set doesn't hold an object per topic.
+ * The topic strings are interned in the {@link TopicFilterPool}, so identical topics of different clients share the same instance,
+ * and the QoS levels are packed into a single byte array.
+ * <p/>
+ * The topics and their QoS can be iterated without any allocation by index:
+ * <pre>
+ * for (int i = 0; i &lt; topicSet.size(); i++) {
+ *     final String topic = topicSet.getTopic(i);
+ *     final int qos = topicSet.getQoSNumber(i);
+ * }
+ * </pre>
+ * The topics are sorted in their natural order.
+ *
+ * @since 3.4
+ */
+@Immutable
+public final class CompactTopicSet {
+
+    /**
+     * The packed value for a topic without a QoS
+     */
+    public static final int NO_QOS = -1;
+
+    private static final CompactTopicSet EMPTY = new CompactTopicSet(new String[0], new byte[0]);
+
+    private final String[] topics;
+    private final byte[] qos;
+
+    private CompactTopicSet(final String[] topics, final byte[] qos) {
+        this.topics = topics;
+        this.qos = qos;
+    }
+
+    /**
+     * @return an empty topic set
+     */
+    @NotNull
+    public static CompactTopicSet empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Creates a new topic set from the given topics.
+     * <p/>
+     * If the same topic is contained multiple times, the QoS of the last occurrence is used.
+     *
+     * @param topics the topics of the new set
+     * @return a topic set which contains all given topics
+     */
+    @NotNull
+    public static CompactTopicSet of(@NotNull final Collection<Topic> topics) {
+        Preconditions.checkNotNull(topics, "Topics must not be null");
+        if (topics.isEmpty()) {
+            return EMPTY;
+        }
+
+        final TreeMap<String, QoS> sorted = new TreeMap<>();
+        for (final Topic topic : topics) {
+            sorted.put(topic.getTopic(), topic.getQoS());
+        }
+
+        final String[] topicArray = new String[sorted.size()];
+        final byte[] qosArray = new byte[sorted.size()];
+        int i = 0;
+        for (final Map.Entry<String, QoS> entry : sorted.entrySet()) {
+            topicArray[i] = TopicFilterPool.getInstance().intern(entry.getKey());
+            qosArray[i] = entry.getValue() == null ? NO_QOS : (byte) entry.getValue().getQosNumber();
+            i++;
+        }
+        return new CompactTopicSet(topicArray, qosArray);
+    }
+
+    /**
+     * @return the amount of topics in this set
+     */
+    public int size() {
+        return topics.length;
+    }
+
+    /**
+     * @return <code>true</code> if this set doesn't contain any topics
+     */
+    public boolean isEmpty() {
+        return topics.length == 0;
+    }
+
+    /**
+     * @param index the index of the topic, must be between 0 and {@link #size()} (exclusive)
+     * @return the topic at the given index
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    @NotNull
+    public String getTopic(final int index) {
+        return topics[index];
+    }
+
+    /**
+     * @param index the index of the topic, must be between 0 and {@link #size()} (exclusive)
+     * @return the QoS number (0, 1 or 2) of the topic at the given index or {@link #NO_QOS} if the topic has no QoS
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public int getQoSNumber(final int index) {
+        return qos[index];
+    }
+
+    /**
+     * @param index the index of the topic, must be between 0 and {@link #size()} (exclusive)
+     * @return the QoS of the topic at the given index or <code>null</code> if the topic has no QoS
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    @Nullable
+    public QoS getQoS(final int index) {
+        return QoS.valueOf(qos[index]);
+    }
+
+    /**
+     * @param topic the topic to search for
+     * @return the index of the given topic or a negative value if the topic is not contained in this set
+     */
+    public int indexOf(@NotNull final String topic) {
+        Preconditions.checkNotNull(topic, "Topic must not be null");
+        return Arrays.binarySearch(topics, topic);
+    }
+
+    /**
+     * @param topic the topic to search for
+     * @return <code>true</code> if this set contains the given topic
+     */
+    public boolean contains(@NotNull final String topic) {
+        return indexOf(topic) >= 0;
+    }
+
+    /**
+     * @param topic the topic to search for
+     * @return the QoS of the given topic or <code>null</code> if the topic is not contained or has no QoS
+     */
+    @Nullable
+    public QoS getQoS(@NotNull final String topic) {
+        final int index = indexOf(topic);
+        return index < 0 ? null : getQoS(index);
+    }
+
+    /**
+     * Creates a {@link Topic} object for every topic in this set.
+     * Use index based iteration instead, if the topics are only read.
+     *
+     * @return all topics of this set as {@link Topic}s
+     */
+    @NotNull
+    public ImmutableSet<Topic> toTopics() {
+        final ImmutableSet.Builder<Topic> builder = ImmutableSet.builder();
+        for (int i = 0; i < topics.length; i++) {
+            builder.add(new Topic(topics[i], getQoS(i)));
+        }
+        return builder.build();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        final CompactTopicSet that = (CompactTopicSet) o;
+
+        return Arrays.equals(topics, that.topics) && Arrays.equals(qos, that.qos);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(topics) + Arrays.hashCode(qos);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("CompactTopicSet{");
+        for (int i = 0; i < topics.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(topics[i]).append('=').append(getQoS(i));
+        }
+        return builder.append('}').toString();
+    }
+}
@@ -59,4 +59,24 @@ public class SUBSCRIBE implements Message {
     public void setTopics(final List<Topic> topics) {
         this.topics = topics;
     }
+
+    /**
+     * Creates a compact snapshot of the topics of this SUBSCRIBE message. Later modifications of the topics
+     * are not reflected by the returned set.
+     * <p/>
+     * Every call builds a new set, which is more expensive than iterating {@link #getTopics()} once. The set is not
+     * cached, because the list returned by {@link #getTopics()} can be modified at any time. Keep the returned set
+     * instead of calling this method repeatedly.
+     *
+     * @return a {@link CompactTopicSet} of the topics and their corresponding QoS the SUBSCRIBE message contains,
+     * an empty set if the topics were set to <code>null</code>
+     * @since 3.4
+     */
+    public CompactTopicSet getTopicSet() {
+        final List<Topic> currentTopics = topics;
+        if (currentTopics == null) {
+            return CompactTopicSet.empty();
+        }
+        return CompactTopicSet.of(currentTopics);
+    }
 }
@@ -48,8 +48,15 @@ public class Topic implements Serializable, Comparable<Topic> {
         this.qoS = qoS;
     }
 
+    /**
+     * Creates a topic without a QoS. The topic string is interned in the {@link TopicFilterPool}.
+     *
+     * @param s the topic as String representation
+     * @return a topic without a QoS
+     */
     public static Topic topicFromString(@NotNull final String s) {
-        return new Topic(s, null);
+        Preconditions.checkArgument(s != null, "A Topic must not be null");
+        return new Topic(TopicFilterPool.getInstance().intern(s), null);
     }
 
     /**
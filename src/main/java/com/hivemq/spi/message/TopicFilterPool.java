@@ -0,0 +1,84 @@
+/*
+ * Copyright 2018 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.message;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.hivemq.spi.annotations.NotNull;
+import com.hivemq.spi.annotations.ThreadSafe;
+
+/**
+ * A pool of canonical topic filter instances.
+ * <p/>
+ * Many clients typically subscribe to identical topic filters (e.g. <code>config/global/#</code>). Interning these
+ * filters makes all subscriptions share a single String instance, which saves memory and allows
+ * equality checks to short-circuit on identity.
+ * <p/>
+ * The pool only holds weak references to its entries, so topic filters which are not used anymore
+ * are garbage collected.
+ *
+ * @since 3.4
+ */
+@ThreadSafe
+public final class TopicFilterPool {
+
+    private static final TopicFilterPool INSTANCE = new TopicFilterPool();
+
+    private final Interner<String> interner = Interners.newWeakInterner();
+
+    private TopicFilterPool() {
+        //singleton
+    }
+
+    /**
+     * @return the shared topic filter pool
+     */
+    @NotNull
+    public static TopicFilterPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the canonical instance of the given topic filter. Two calls with equal topic filters
+     * always return the same instance, as long as the instance is referenced somewhere.
+     *
+     * @param topicFilter the topic filter to intern
+     * @return the canonical instance for the given topic filter
+     */
+    @NotNull
+    public String intern(@NotNull final String topicFilter) {
+        Preconditions.checkNotNull(topicFilter, "Topic filter must not be null");
+        return interner.intern(topicFilter);
+    }
+
+    /**
+     * Returns a {@link Topic} with the canonical instance of the topic filter of the given topic.
+     *
+     * @param topic the topic to intern
+     * @return the given topic if its topic filter already is the canonical instance, a new {@link Topic} otherwise
+     */
+    @NotNull
+    public Topic intern(@NotNull final Topic topic) {
+        Preconditions.checkNotNull(topic, "Topic must not be null");
+        final String canonical = intern(topic.getTopic());
+        if (canonical == topic.getTopic()) {
+            return topic;
+        }
+        return new Topic(canonical, topic.getQoS());
+    }
+}
@@ -706,6 +706,32 @@ public class HiveMQMetrics {
     public static final HiveMQMetric<Histogram> PLUGIN_EXECUTOR_SERVICE_SCHEDULED_PERCENT_OF_PERIOD =
             HiveMQMetric.valueOf(PLUGIN_EXECUTOR_PREFIX + ".scheduled.percent-of-period", Histogram.class);
 
+    /**
+     * represents a {@link Gauge}, which holds the current amount of callbacks which are executing
+     *
+     * @since 3.4
+     */
+    public static final HiveMQMetric<Gauge<Number>> CALLBACK_EXECUTOR_IN_FLIGHT =
+            HiveMQMetric.gaugeValue(CALLBACK_EXECUTOR_PREFIX + ".in-flight");
+
+    /**
+     * represents a {@link Gauge}, which holds the current amount of callbacks which are executing
+     * with the {@link com.hivemq.spi.callback.CallbackExecutionMode#ELASTIC} execution mode
+     *
+     * @since 3.4
+     */
+    public static final HiveMQMetric<Gauge<Number>> CALLBACK_EXECUTOR_ELASTIC_IN_FLIGHT =
+            HiveMQMetric.gaugeValue(CALLBACK_EXECUTOR_PREFIX + ".elastic.in-flight");
+
+    /**
+     * represents a {@link Counter}, which counts every time a callback pinned a virtual thread to its carrier thread
+     * while blocking
+     *
+     * @since 3.4
+     */
+    public static final HiveMQMetric<Counter> CALLBACK_EXECUTOR_ELASTIC_CARRIER_PINNED_COUNT =
+            HiveMQMetric.valueOf(CALLBACK_EXECUTOR_PREFIX + ".elastic.carrier-pinned.count", Counter.class);
+
 
     /**
      * represents a {@link Timer}, which measures the mean execution time (in nanoseconds)
@@ -734,6 +760,24 @@ public class HiveMQMetrics {
     public static final HiveMQMetric<Timer> PLUGIN_TIMER_AUTHENTICATION =
             HiveMQMetric.valueOf("com.hivemq.plugin.callbacks.authentication.time", Timer.class);
 
+    /**
+     * represents a {@link Timer}, which measures the mean time (in nanoseconds) until the future
+     * of the {@link AsyncOnAuthenticationCallback} completes
+     *
+     * @since 3.4
+     */
+    public static final HiveMQMetric<Timer> PLUGIN_TIMER_ASYNC_AUTHENTICATION =
+            HiveMQMetric.valueOf("com.hivemq.plugin.callbacks.async-authentication.time", Timer.class);
+
+    /**
+     * represents a {@link Counter}, which counts every check of the {@link AsyncOnAuthenticationCallback}
+     * which timed out
+     *
+     * @since 3.4
+     */
+    public static final HiveMQMetric<Counter> PLUGIN_ASYNC_AUTHENTICATION_TIMEOUT_COUNT =
+            HiveMQMetric.valueOf("com.hivemq.plugin.callbacks.async-authentication.timeout.count", Counter.class);
+
     /**
      * represents a {@link Timer}, which measures the mean execution time (in nanoseconds)
      * of the {@link RestrictionsAfterLoginCallback}
@@ -752,6 +796,24 @@ public class HiveMQMetrics {
     public static final HiveMQMetric<Timer> PLUGIN_TIMER_AUTHORIZATION =
             HiveMQMetric.valueOf("com.hivemq.plugin.callbacks.authorization.time", Timer.class);
 
+    /**
+     * represents a {@link Timer}, which measures the mean time (in nanoseconds) until the future
+     * of the {@link AsyncOnAuthorizationCallback} completes
+     *
+     * @since 3.4
+     */
+    public static final HiveMQMetric<Timer> PLUGIN_TIMER_ASYNC_AUTHORIZATION =
+            HiveMQMetric.valueOf("com.hivemq.plugin.callbacks.async-authorization.time", Timer.class);
+
+    /**
+     * represents a {@link Counter}, which counts every lookup of the {@link AsyncOnAuthorizationCallback}
+     * which timed out
+     *
+     * @since 3.4
+     */
+    public static final HiveMQMetric<Counter> PLUGIN_ASYNC_AUTHORIZATION_TIMEOUT_COUNT =
+            HiveMQMetric.valueOf("com.hivemq.plugin.callbacks.async-authorization.timeout.count", Counter.class);
+
     /**
      * represents a {@link Timer}, which measures the mean execution time (in nanoseconds)
      * of the {@link OnInsufficientPermissionDisconnect}
@@ -956,6 +1018,31 @@ public class HiveMQMetrics {
     public static final HiveMQMetric<Timer> PLUGIN_TIMER_SESSION_READY =
             HiveMQMetric.valueOf("com.hivemq.plugin.callbacks.session-ready.time", Timer.class);
 
+    /**
+     * represents a {@link Counter}, which counts every time the circuit breaker of a callback opens because the callback
+     * exceeded its {@link com.hivemq.spi.callback.registry.CallbackLatencyBudget} too often
+     *
+     * @since 3.4
+     */
+    public static final HiveMQMetric<Counter> PLUGIN_CALLBACKS_CIRCUIT_BREAKER_TRIPPED_COUNT =
+            HiveMQMetric.valueOf("com.hivemq.plugin.callbacks.circuit-breaker.tripped.count", Counter.class);
+
+    /**
+     * represents a {@link Counter}, which counts every call of a callback which was skipped because the callback is bypassed
+     *
+     * @since 3.4
+     */
+    public static final HiveMQMetric<Counter> PLUGIN_CALLBACKS_CIRCUIT_BREAKER_BYPASSED_COUNT =
+            HiveMQMetric.valueOf("com.hivemq.plugin.callbacks.circuit-breaker.bypassed.count", Counter.class);
+
+    /**
+     * represents a {@link Gauge}, which holds the current amount of callbacks which are bypassed
+     *
+     * @since 3.4
+     */
+    public static final HiveMQMetric<Gauge<Number>> PLUGIN_CALLBACKS_CIRCUIT_BREAKER_OPEN =
+            HiveMQMetric.gaugeValue("com.hivemq.plugin.callbacks.circuit-breaker.open");
+
     /**
      * represents a {@link Meter}, which measures the rate of unhandled Exceptions
      *
@@ -1172,6 +1259,30 @@ public class HiveMQMetrics {
     public static final HiveMQMetric<Gauge<Number>> PAYLOAD_PERSISTENCE_REMOVABLE_ENTRIES =
             HiveMQMetric.gaugeValue("com.hivemq.persistence.removable-entries.count");
 
+    /**
+     * represents a {@link Gauge}, which holds the current amount of bytes of session attribute values stored on the heap.
+     *
+     * @since 3.4
+     */
+    public static final HiveMQMetric<Gauge<Number>> SESSION_ATTRIBUTES_HEAP_BYTES =
+            HiveMQMetric.gaugeValue("com.hivemq.persistence.attribute.heap.bytes");
+
+    /**
+     * represents a {@link Gauge}, which holds the current amount of bytes of session attribute values stored off heap.
+     *
+     * @since 3.4
+     */
+    public static final HiveMQMetric<Gauge<Number>> SESSION_ATTRIBUTES_OFF_HEAP_BYTES =
+            HiveMQMetric.gaugeValue("com.hivemq.persistence.attribute.off-heap.bytes");
+
+    /**
+     * represents a {@link Counter}, which counts every session attribute that was removed because its time to live expired
+     *
+     * @since 3.4
+     */
+    public static final HiveMQMetric<Counter> SESSION_ATTRIBUTES_EXPIRED_COUNT =
+            HiveMQMetric.valueOf("com.hivemq.persistence.attribute.expired.count", Counter.class);
+
     /**
      * represents a {@link Counter}, which measures the total count of clients that have been disconnected, because they did not send a message within their keep alive interval
      * {@link PluginExecutorService}
@@ -1295,6 +1406,22 @@ public class HiveMQMetrics {
     public static final HiveMQMetric<Gauge<Number>> OVERLOAD_PROTECTION_CLIENTS_BACKPRESSURE_ACTIVE =
             HiveMQMetric.gaugeValue("com.hivemq.overload-protection.clients.backpressure-active");
 
+    /**
+     * represents a {@link Gauge}, which holds the current amount of plugin PUBLISHes which are not routed yet.
+     *
+     * @since 3.4
+     */
+    public static final HiveMQMetric<Gauge<Number>> OVERLOAD_PROTECTION_PLUGIN_PUBLISHES_IN_FLIGHT =
+            HiveMQMetric.gaugeValue("com.hivemq.overload-protection.plugin.publishes-in-flight");
+
+    /**
+     * represents a {@link Counter}, which counts every plugin PUBLISH which was rejected because no credits were available.
+     *
+     * @since 3.4
+     */
+    public static final HiveMQMetric<Counter> OVERLOAD_PROTECTION_PLUGIN_PUBLISHES_REJECTED_COUNT =
+            HiveMQMetric.valueOf("com.hivemq.overload-protection.plugin.publishes-rejected.count", Counter.class);
+
     /**
      * represents a {@link Counter}, which counts the current amount of clients subscriptions that may be removable by the topic tree cleanup.
      *
@@ -20,8 +20,11 @@ import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.hivemq.spi.annotations.NotNull;
+import com.hivemq.spi.annotations.Nullable;
 
 import java.nio.charset.Charset;
+import java.util.Collection;
+import java.util.Map;
 
 /**
  * Through this service a plugin can manage client session attributes with the same lifetime as the MQTT client session.
@@ -186,4 +189,244 @@ public interface AsyncSessionAttributeStore {
      */
     @NotNull
     ListenableFuture<Void> clear(@NotNull String clientId);
+
+    /**
+     * Retrieves the values of the session attributes with the given keys for a persistent client.
+     * <p>
+     * All keys are read at once in a single persistence task, which is preferable to calling
+     * {@link #get(String, String)} for every single key.
+     *
+     * @param clientId the clientId of a persistent client.
+     * @param keys     the keys of the session attributes.
+     * @return a {@link ListenableFuture} succeeding with a map of all given keys which are present and their values,
+     * failing with a {@link com.hivemq.spi.services.exception.NoSuchClientIdException} if no session for the given clientId exists,
+     * failing with a {@link com.hivemq.spi.services.exception.IncompatibleHiveMQVersionException} if a node with a version lower than 3.4.0 exists in the cluster.
+     * failing with a {@link com.hivemq.spi.services.exception.RateLimitExceededException} if the plugin service rate limit was exceeded.
+     * @since 3.4
+     */
+    @NotNull
+    ListenableFuture<ImmutableMap<String, byte[]>> getMany(@NotNull String clientId, @NotNull Collection<String> keys);
+
+    /**
+     * Sets all given session attributes for a persistent client.
+     * <p>
+     * All attributes are written at once in a single persistence task, which is preferable to calling
+     * {@link #put(String, String, byte[])} for every single attribute.
+     *
+     * @param clientId   the clientId of a persistent client.
+     * @param attributes the keys and values of the session attributes.
+     * @return a {@link ListenableFuture} indicating success or
+     * failing with a {@link com.hivemq.spi.services.exception.NoSuchClientIdException} if no session for the given clientId exists,
+     * failing with a {@link com.hivemq.spi.services.exception.IncompatibleHiveMQVersionException} if a node with a version lower than 3.4.0 exists in the cluster.
+     * failing with a {@link com.hivemq.spi.services.exception.RateLimitExceededException} if the plugin service rate limit was exceeded.
+     * @since 3.4
+     */
+    @NotNull
+    ListenableFuture<Void> putMany(@NotNull String clientId, @NotNull Map<String, byte[]> attributes);
+
+    /**
+     * Removes the session attributes with the given keys for a persistent client.
+     * <p>
+     * All attributes are removed at once in a single persistence task, which is preferable to calling
+     * {@link #remove(String, String)} for every single key.
+     *
+     * @param clientId the clientId of a persistent client.
+     * @param keys     the keys of the session attributes.
+     * @return a {@link ListenableFuture} succeeding with a map of all removed keys which were present and their previous values,
+     * failing with a {@link com.hivemq.spi.services.exception.NoSuchClientIdException} if no session for the given clientId exists,
+     * failing with a {@link com.hivemq.spi.services.exception.IncompatibleHiveMQVersionException} if a node with a version lower than 3.4.0 exists in the cluster.
+     * failing with a {@link com.hivemq.spi.services.exception.RateLimitExceededException} if the plugin service rate limit was exceeded.
+     * @since 3.4
+     */
+    @NotNull
+    ListenableFuture<ImmutableMap<String, byte[]>> removeMany(@NotNull String clientId, @NotNull Collection<String> keys);
+
+    /**
+     * Streams the value of the session attribute with the given key for all given persistent clients to the
+     * given {@link ChunkCallback}.
+     * <p>
+     * Clients which don't have a session or don't have the session attribute are skipped.
+     * The persistence buckets are read in parallel, the chunks are still passed to the callback one after another.
+     * There is no guaranteed order of the clients.
+     *
+     * @param clientIds the clientIds of persistent clients.
+     * @param key       the key of the session attribute.
+     * @param callback  the callback which receives the session attributes in chunks.
+     * @return a {@link ListenableFuture} succeeding as soon as the last chunk was passed to the callback or the callback stopped the iteration,
+     * failing with a {@link com.hivemq.spi.services.exception.IncompatibleHiveMQVersionException} if a node with a version lower than 3.4.0 exists in the cluster.
+     * failing with a {@link com.hivemq.spi.services.exception.RateLimitExceededException} if the plugin service rate limit was exceeded.
+     * @since 3.4
+     */
+    @NotNull
+    ListenableFuture<Void> iterateAttributeForClients(@NotNull Collection<String> clientIds, @NotNull String key, @NotNull ChunkCallback<ClientSessionAttribute> callback);
+
+    /**
+     * Streams the value of the session attribute with the given key for all persistent clients to the given
+     * {@link ChunkCallback}.
+     * <p>
+     * Clients which don't have the session attribute are skipped.
+     * The persistence buckets are read in parallel, the chunks are still passed to the callback one after another.
+     * There is no guaranteed order of the clients.
+     *
+     * @param key      the key of the session attribute.
+     * @param callback the callback which receives the session attributes in chunks.
+     * @return a {@link ListenableFuture} succeeding as soon as the last chunk was passed to the callback or the callback stopped the iteration,
+     * failing with a {@link com.hivemq.spi.services.exception.IncompatibleHiveMQVersionException} if a node with a version lower than 3.4.0 exists in the cluster.
+     * failing with a {@link com.hivemq.spi.services.exception.RateLimitExceededException} if the plugin service rate limit was exceeded.
+     * @since 3.4
+     */
+    @NotNull
+    ListenableFuture<Void> iterateAttributeForAllClients(@NotNull String key, @NotNull ChunkCallback<ClientSessionAttribute> callback);
+
+    /**
+     * Atomically sets the session attribute with the given key for a persistent client to the given new value,
+     * if the currently stored value equals the expected value.
+     * <p>
+     * The comparison and the update are executed as one task of the session attribute persistence,
+     * so no other modification of the attribute can happen in between.
+     *
+     * @param clientId the clientId of a persistent client.
+     * @param key      the key of the session attribute.
+     * @param expected the expected current value of the session attribute or <code>null</code> if the attribute is expected to be absent.
+     * @param newValue the new value of the session attribute.
+     * @return a {@link ListenableFuture} succeeding with <code>true</code> if the value was set and <code>false</code> if the current value didn't equal the expected value,
+     * failing with a {@link com.hivemq.spi.services.exception.NoSuchClientIdException} if no session for the given clientId exists,
+     * failing with a {@link com.hivemq.spi.services.exception.IncompatibleHiveMQVersionException} if a node with a version lower than 3.4.0 exists in the cluster.
+     * failing with a {@link com.hivemq.spi.services.exception.RateLimitExceededException} if the plugin service rate limit was exceeded.
+     * @since 3.4
+     */
+    @NotNull
+    ListenableFuture<Boolean> compareAndSet(@NotNull String clientId, @NotNull String key, @Nullable byte[] expected, @NotNull byte[] newValue);
+
+    /**
+     * Atomically adds the given delta to the counter stored in the session attribute with the given key for a
+     * persistent client and returns the updated value.
+     * <p>
+     * A counter is stored as 8 byte big-endian long value. If the session attribute is absent, the counter starts at 0.
+     * The update is executed as one task of the session attribute persistence, so concurrent increments don't need a
+     * read-modify-write cycle and can't get lost.
+     *
+     * @param clientId the clientId of a persistent client.
+     * @param key      the key of the session attribute.
+     * @param delta    the value to add to the counter, may be negative.
+     * @return a {@link ListenableFuture} succeeding with the updated value of the counter,
+     * failing with an {@link IllegalStateException} if the current value of the session attribute is not an 8 byte long value,
+     * failing with a {@link com.hivemq.spi.services.exception.NoSuchClientIdException} if no session for the given clientId exists,
+     * failing with a {@link com.hivemq.spi.services.exception.IncompatibleHiveMQVersionException} if a node with a version lower than 3.4.0 exists in the cluster.
+     * failing with a {@link com.hivemq.spi.services.exception.RateLimitExceededException} if the plugin service rate limit was exceeded.
+     * @since 3.4
+     */
+    @NotNull
+    ListenableFuture<Long> incrementAndGet(@NotNull String clientId, @NotNull String key, long delta);
+
+    /**
+     * Sets the given session attribute for a persistent client, which is removed automatically when the given
+     * time to live expires.
+     * <p>
+     * Expired session attributes are not returned anymore, but the removal itself may happen
+     * with a delay of up to one second. If the session attribute is overwritten by any other put method,
+     * the time to live doesn't apply anymore.
+     *
+     * @param clientId the clientId of a persistent client.
+     * @param key      the key of the session attribute.
+     * @param value    the value of the session attribute.
+     * @param ttl      the time to live of the session attribute in seconds.
+     * @return a {@link ListenableFuture} indicating success or
+     * failing with a {@link com.hivemq.spi.services.exception.NoSuchClientIdException} if no session for the given clientId exists,
+     * failing with a {@link com.hivemq.spi.callback.exception.InvalidTTLException} if the given TTL is invalid (< 1),
+     * failing with a {@link com.hivemq.spi.services.exception.IncompatibleHiveMQVersionException} if a node with a version lower than 3.4.0 exists in the cluster.
+     * failing with a {@link com.hivemq.spi.services.exception.RateLimitExceededException} if the plugin service rate limit was exceeded.
+     * @since 3.4
+     */
+    @NotNull
+    ListenableFuture<Void> putWithTTL(@NotNull String clientId, @NotNull String key, @NotNull byte[] value, int ttl);
+
+    /**
+     * Subscribes the given {@link ChunkCallback} to all changes of session attributes on this HiveMQ node.
+     * <p>
+     * The changes are delivered in batches on the {@link PluginExecutorService}, in the order they were applied
+     * for every single client. A new batch is only delivered after the callback returned for the previous batch.
+     * While the callback is busy, changes are buffered. If more than <code>maxPendingEvents</code> changes are
+     * buffered, the subscription is terminated, as changes would have to be dropped otherwise.
+     * A plugin can then re-read the affected session attributes with {@link #getAll(String)} and subscribe again.
+     * <p>
+     * The subscription ends when the callback returns <code>false</code> or the returned future is cancelled.
+     *
+     * @param callback         the callback which receives the changes in batches.
+     * @param maxPendingEvents the maximum amount of changes which are buffered while the callback is busy, must be greater than 0.
+     * @return a {@link ListenableFuture} succeeding when the callback ended the subscription,
+     * failing with a {@link com.hivemq.spi.callback.exception.LimitExceededException} if more than maxPendingEvents changes were buffered,
+     * failing with a {@link com.hivemq.spi.services.exception.IncompatibleHiveMQVersionException} if a node with a version lower than 3.4.0 exists in the cluster.
+     * @throws IllegalArgumentException if maxPendingEvents is not greater than 0
+     * @since 3.4
+     */
+    @NotNull
+    ListenableFuture<Void> subscribeToChanges(@NotNull ChunkCallback<SessionAttributeChangeEvent> callback, int maxPendingEvents);
+
+    /**
+     * Sets the given session attribute as long value for a persistent client.
+     * <p>
+     * The value is kept in primitive form and only encoded as 8 byte big-endian value when it is persisted or
+     * replicated, so it can be used as counter with {@link #incrementAndGet(String, String, long)}.
+     *
+     * @param clientId the clientId of a persistent client.
+     * @param key      the key of the session attribute.
+     * @param value    the value of the session attribute.
+     * @return a {@link ListenableFuture} indicating success or
+     * failing with a {@link com.hivemq.spi.services.exception.NoSuchClientIdException} if no session for the given clientId exists,
+     * failing with a {@link com.hivemq.spi.services.exception.IncompatibleHiveMQVersionException} if a node with a version lower than 3.4.0 exists in the cluster.
+     * failing with a {@link com.hivemq.spi.services.exception.RateLimitExceededException} if the plugin service rate limit was exceeded.
+     * @since 3.4
+     */
+    @NotNull
+    ListenableFuture<Void> putLong(@NotNull String clientId, @NotNull String key, long value);
+
+    /**
+     * Sets the given session attribute as int value for a persistent client.
+     * <p>
+     * The value is kept in primitive form and only encoded as 4 byte big-endian value when it is persisted or replicated.
+     *
+     * @param clientId the clientId of a persistent client.
+     * @param key      the key of the session attribute.
+     * @param value    the value of the session attribute.
+     * @return a {@link ListenableFuture} indicating success or
+     * failing with a {@link com.hivemq.spi.services.exception.NoSuchClientIdException} if no session for the given clientId exists,
+     * failing with a {@link com.hivemq.spi.services.exception.IncompatibleHiveMQVersionException} if a node with a version lower than 3.4.0 exists in the cluster.
+     * failing with a {@link com.hivemq.spi.services.exception.RateLimitExceededException} if the plugin service rate limit was exceeded.
+     * @since 3.4
+     */
+    @NotNull
+    ListenableFuture<Void> putInt(@NotNull String clientId, @NotNull String key, int value);
+
+    /**
+     * Retrieves the value of the session attribute with the given key for a persistent client as long value.
+     *
+     * @param clientId     the clientId of a persistent client.
+     * @param key          the key of the session attribute.
+     * @param defaultValue the value the future succeeds with if the session attribute is not present.
+     * @return a {@link ListenableFuture} succeeding with the value of the session attribute or the default value if it is not present,
+     * failing with an {@link IllegalStateException} if the session attribute is not a long value (8 bytes),
+     * failing with a {@link com.hivemq.spi.services.exception.NoSuchClientIdException} if no session for the given clientId exists,
+     * failing with a {@link com.hivemq.spi.services.exception.IncompatibleHiveMQVersionException} if a node with a version lower than 3.4.0 exists in the cluster.
+     * failing with a {@link com.hivemq.spi.services.exception.RateLimitExceededException} if the plugin service rate limit was exceeded.
+     * @since 3.4
+     */
+    @NotNull
+    ListenableFuture<Long> getLong(@NotNull String clientId, @NotNull String key, long defaultValue);
+
+    /**
+     * Retrieves the value of the session attribute with the given key for a persistent client as int value.
+     *
+     * @param clientId     the clientId of a persistent client.
+     * @param key          the key of the session attribute.
+     * @param defaultValue the value the future succeeds with if the session attribute is not present.
+     * @return a {@link ListenableFuture} succeeding with the value of the session attribute or the default value if it is not present,
+     * failing with an {@link IllegalStateException} if the session attribute is not an int value (4 bytes),
+     * failing with a {@link com.hivemq.spi.services.exception.NoSuchClientIdException} if no session for the given clientId exists,
+     * failing with a {@link com.hivemq.spi.services.exception.IncompatibleHiveMQVersionException} if a node with a version lower than 3.4.0 exists in the cluster.
+     * failing with a {@link com.hivemq.spi.services.exception.RateLimitExceededException} if the plugin service rate limit was exceeded.
+     * @since 3.4
+     */
+    @NotNull
+    ListenableFuture<Integer> getInt(@NotNull String clientId, @NotNull String key, int defaultValue);
 }
@@ -19,13 +19,22 @@ package com.hivemq.spi.services;
 import com.google.common.collect.Multimap;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.hivemq.spi.annotations.NotNull;
+import com.hivemq.spi.annotations.Nullable;
 import com.hivemq.spi.annotations.ReadOnly;
+import com.hivemq.spi.message.CompactTopicSet;
 import com.hivemq.spi.message.Topic;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
 
 /**
  * The subscription store allows the management of all client subscriptions from within a plugin
+ * <p/>
+ * HiveMQ interns the topic filters of the subscriptions it stores in the
+ * {@link com.hivemq.spi.message.TopicFilterPool}, so identical topic filters usually share the same instance.
+ * This saves memory but is no guarantee, e.g. topics which were created with the {@link Topic} constructor are not
+ * interned, so topic filters must still be compared with {@link Object#equals(Object)}.
  *
  * @author Lukas Brandl
  * @since 3.1
@@ -153,4 +162,182 @@ public interface AsyncSubscriptionStore {
      */
     @ReadOnly
     ListenableFuture<Set<Topic>> getTopics(@NotNull String clientID);
+
+    /**
+     * Returns all MQTT clients on this HiveMQ instance which would receive a PUBLISH with the given topic,
+     * together with the QoS which was granted for their subscription.
+     * <p/>
+     * In contrast to {@link #getLocalSubscribers(String)} the given topic is matched against the topic tree of HiveMQ,
+     * so subscribers with wildcard subscriptions (e.g. <code>a/+/c</code> or <code>a/#</code> for the topic
+     * <code>a/b/c</code>) are included. If a client has multiple matching subscriptions, the highest QoS is returned.
+     * <p/>
+     * Don't pass <code>null</code> or a topic with wildcards as publish topic. This method is lenient, so
+     * it will just return an empty Set.
+     * <p/>
+     * The returned Set is read-only and must not be modified.
+     *
+     * @param publishTopic the topic of a PUBLISH, must not contain wildcards
+     * @return a {@link com.google.common.util.concurrent.ListenableFuture} which contains all subscribers the PUBLISH would be delivered to
+     * failing with a {@link com.hivemq.spi.services.exception.RateLimitExceededException} if the plugin service rate limit was exceeded.
+     * @since 3.4
+     */
+    @ReadOnly
+    ListenableFuture<Set<SubscriberWithQoS>> getLocalMatchingSubscribers(@NotNull String publishTopic);
+
+    /**
+     * Returns all MQTT clients on this HiveMQ instance and all other nodes in a HiveMQ cluster which would receive a
+     * PUBLISH with the given topic, together with the QoS which was granted for their subscription.
+     * <p/>
+     * In contrast to {@link #getSubscribers(String)} the given topic is matched against the topic tree of HiveMQ,
+     * so subscribers with wildcard subscriptions (e.g. <code>a/+/c</code> or <code>a/#</code> for the topic
+     * <code>a/b/c</code>) are included. If a client has multiple matching subscriptions, the highest QoS is returned.
+     * <p/>
+     * Don't pass <code>null</code> or a topic with wildcards as publish topic. This method is lenient, so
+     * it will just return an empty Set.
+     * <p/>
+     * The returned Set is read-only and must not be modified.
+     *
+     * @param publishTopic the topic of a PUBLISH, must not contain wildcards
+     * @return a {@link com.google.common.util.concurrent.ListenableFuture} which contains all subscribers the PUBLISH would be delivered to
+     * failing with a {@link com.hivemq.spi.services.exception.RateLimitExceededException} if the plugin service rate limit was exceeded.
+     * @since 3.4
+     */
+    @ReadOnly
+    ListenableFuture<Set<SubscriberWithQoS>> getMatchingSubscribers(@NotNull String publishTopic);
+
+    /**
+     * Streams all MQTT clients on this HiveMQ instance and all other nodes in a HiveMQ cluster which would receive a
+     * PUBLISH with the given topic to the given {@link ChunkCallback}.
+     * <p/>
+     * This method matches the topic the same way as {@link #getMatchingSubscribers(String)}, but doesn't
+     * build the complete result in memory. Use this method for topics with many subscribers.
+     * <p/>
+     * Don't pass <code>null</code> or a topic with wildcards as publish topic. This method is lenient, so
+     * the callback will just not be called.
+     *
+     * @param publishTopic the topic of a PUBLISH, must not contain wildcards
+     * @param callback     the callback which receives the matching subscribers in chunks
+     * @return a {@link com.google.common.util.concurrent.ListenableFuture} which succeeds as soon as the last chunk was passed to the callback
+     * or the callback stopped the iteration,
+     * failing with a {@link com.hivemq.spi.services.exception.RateLimitExceededException} if the plugin service rate limit was exceeded.
+     * @since 3.4
+     */
+    ListenableFuture<Void> iterateMatchingSubscribers(@NotNull String publishTopic, @NotNull ChunkCallback<SubscriberWithQoS> callback);
+
+    /**
+     * Returns a chunk of the subscriptions on this HiveMQ Node. You won't receive subscriptions of connected
+     * clients from other HiveMQ nodes if HiveMQ runs in a cluster.
+     * <p/>
+     * Each chunk contains at most <code>chunkSize</code> subscriptions and all subscriptions of a chunk belong to the
+     * same cluster node. Pass <code>null</code> as cursor to fetch the first chunk and the
+     * {@link SubscriptionChunk#getCursor()} of the previous chunk to fetch the next one, until
+     * {@link SubscriptionChunk#isLastChunk()} returns <code>true</code>.
+     * <p/>
+     * Subscriptions which are added or removed while iterating may or may not be contained in the result.
+     * <p/>
+     * In contrast to {@link #getLocalSubscriptions()} this method never holds more than one chunk in memory,
+     * so it is safe to use on HiveMQ instances with many subscriptions.
+     *
+     * @param cursor    the cursor of the previous chunk or <code>null</code> for the first chunk
+     * @param chunkSize the maximum amount of subscriptions in the returned chunk, must be greater than 0
+     * @return a {@link com.google.common.util.concurrent.ListenableFuture} which contains the next {@link SubscriptionChunk}
+     * failing with a {@link com.hivemq.spi.services.exception.RateLimitExceededException} if the plugin service rate limit was exceeded.
+     * @throws IllegalArgumentException if the chunk size is not greater than 0 or the cursor is invalid
+     * @since 3.4
+     */
+    ListenableFuture<SubscriptionChunk> getLocalSubscriptionsChunk(@Nullable String cursor, int chunkSize);
+
+    /**
+     * Returns a chunk of the subscriptions on this HiveMQ instance and all other nodes in a HiveMQ cluster.
+     * <p/>
+     * Each chunk contains at most <code>chunkSize</code> subscriptions and all subscriptions of a chunk belong to the
+     * same cluster node. Pass <code>null</code> as cursor to fetch the first chunk and the
+     * {@link SubscriptionChunk#getCursor()} of the previous chunk to fetch the next one, until
+     * {@link SubscriptionChunk#isLastChunk()} returns <code>true</code>.
+     * <p/>
+     * Subscriptions which are added or removed while iterating may or may not be contained in the result.
+     * <p/>
+     * In contrast to {@link #getSubscriptions()} this method never holds more than one chunk in memory,
+     * so it is safe to use on HiveMQ clusters with many subscriptions.
+     *
+     * @param cursor    the cursor of the previous chunk or <code>null</code> for the first chunk
+     * @param chunkSize the maximum amount of subscriptions in the returned chunk, must be greater than 0
+     * @return a {@link com.google.common.util.concurrent.ListenableFuture} which contains the next {@link SubscriptionChunk}
+     * failing with a {@link com.hivemq.spi.services.exception.RateLimitExceededException} if the plugin service rate limit was exceeded.
+     * @throws IllegalArgumentException if the chunk size is not greater than 0 or the cursor is invalid
+     * @since 3.4
+     */
+    ListenableFuture<SubscriptionChunk> getSubscriptionsChunk(@Nullable String cursor, int chunkSize);
+
+    /**
+     * This method adds multiple subscriptions for multiple clients at once.
+     * If HiveMQ is connected to a cluster, the subscriptions will be broadcast to all other Cluster Nodes.
+     * <p/>
+     * In contrast to calling {@link #addSubscription(String, Topic)} for every subscription, the topic tree is
+     * modified once per batch on every node and the subscriptions are replicated to the other Cluster Nodes in groups.
+     * This method should be used when many subscriptions are added at once, e.g. when a device fleet is provisioned.
+     * <p/>
+     * This method is lenient, so client identifiers or topics which are <code>null</code> are ignored.
+     *
+     * @param subscriptions the topics to subscribe to per client identifier
+     * @return a {@link com.google.common.util.concurrent.ListenableFuture} which contains the {@link SubscriptionBatchResult} with the outcome for every
+     * single subscription, as soon as the batch was processed by all Cluster Nodes.
+     * failing with a {@link com.hivemq.spi.services.exception.RateLimitExceededException} if the plugin service rate limit was exceeded.
+     * @since 3.4
+     */
+    ListenableFuture<SubscriptionBatchResult> addSubscriptions(@NotNull Map<String, ? extends Collection<Topic>> subscriptions);
+
+    /**
+     * This method removes multiple subscriptions for multiple clients at once.
+     * If HiveMQ is connected to a cluster, the subscriptions will be removed by other Cluster Nodes as well.
+     * <p/>
+     * In contrast to calling {@link #removeSubscription(String, String)} for every subscription, the topic tree is
+     * modified once per batch on every node and the removals are replicated to the other Cluster Nodes in groups.
+     * <p/>
+     * This method is lenient, so client identifiers or topics which are <code>null</code> are ignored.
+     *
+     * @param subscriptions the topics to unsubscribe from per client identifier
+     * @return a {@link com.google.common.util.concurrent.ListenableFuture} which contains the {@link SubscriptionBatchResult} with the outcome for every
+     * single subscription, as soon as the batch was processed by all Cluster Nodes.
+     * failing with a {@link com.hivemq.spi.services.exception.RateLimitExceededException} if the plugin service rate limit was exceeded.
+     * @since 3.4
+     */
+    ListenableFuture<SubscriptionBatchResult> removeSubscriptions(@NotNull Map<String, ? extends Collection<String>> subscriptions);
+
+    /**
+     * Returns all topics a client is subscribed to, on this HiveMQ instance, as a {@link CompactTopicSet}.
+     * <p/>
+     * In contrast to {@link #getLocalTopics(String)} no {@link Topic} object is created per subscription,
+     * which makes this method preferable for clients with many subscriptions.
+     * <p/>
+     * If the client does not exist, an empty set is returned.
+     * <p/>
+     * Don't pass <code>null</code> as clientId. This method is lenient, so
+     * it will just return an empty set.
+     *
+     * @param clientID of the client
+     * @return a {@link com.google.common.util.concurrent.ListenableFuture} which contains all topics the client subscribed to
+     * failing with a {@link com.hivemq.spi.services.exception.RateLimitExceededException} if the plugin service rate limit was exceeded.
+     * @since 3.4
+     */
+    ListenableFuture<CompactTopicSet> getLocalCompactTopics(@NotNull String clientID);
+
+    /**
+     * Returns all topics a client is subscribed to, on this HiveMQ instance and all other nodes in a HiveMQ cluster,
+     * as a {@link CompactTopicSet}.
+     * <p/>
+     * In contrast to {@link #getTopics(String)} no {@link Topic} object is created per subscription,
+     * which makes this method preferable for clients with many subscriptions.
+     * <p/>
+     * If the client does not exist, an empty set is returned.
+     * <p/>
+     * Don't pass <code>null</code> as clientId. This method is lenient, so
+     * it will just return an empty set.
+     *
+     * @param clientID of the client
+     * @return a {@link com.google.common.util.concurrent.ListenableFuture} which contains all topics the client subscribed to
+     * failing with a {@link com.hivemq.spi.services.exception.RateLimitExceededException} if the plugin service rate limit was exceeded.
+     * @since 3.4
+     */
+    ListenableFuture<CompactTopicSet> getCompactTopics(@NotNull String clientID);
 }
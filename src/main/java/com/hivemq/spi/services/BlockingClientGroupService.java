@@ -18,11 +18,14 @@ package com.hivemq.spi.services;
 
 import com.google.common.collect.ImmutableSet;
 import com.hivemq.spi.annotations.NotNull;
+import com.hivemq.spi.annotations.Nullable;
 import com.hivemq.spi.security.ClientData;
 import com.hivemq.spi.services.exception.IncompatibleHiveMQVersionException;
 import com.hivemq.spi.services.exception.NoSuchClientIdException;
 import com.hivemq.spi.services.exception.RateLimitExceededException;
 
+import java.util.Collection;
+
 /**
  * Through this client group service a plugin can add clients to groups, remove clients from groups, query groups and query clients belonging to a group.
  * <p>
@@ -89,4 +92,89 @@ public interface BlockingClientGroupService {
     @NotNull
     ImmutableSet<String> getAvailableGroups();
 
+    /**
+     * Adds multiple clients to a group.
+     * <p>
+     * Clients without a session are skipped, all other clients are added to the group.
+     *
+     * @param group             the group the clients will be added to.
+     * @param clientIdentifiers the identifiers of the clients which will be added to the group.
+     * @return the identifiers of the clients which were not added because no session exists for them.
+     * @throws IncompatibleHiveMQVersionException if a node with a version lower than 3.4.0 exists in the cluster.
+     * @throws RateLimitExceededException if the plugin service rate limit was exceeded.
+     * @since 3.4
+     */
+    @NotNull
+    ImmutableSet<String> addClientsToGroup(@NotNull String group, @NotNull Collection<String> clientIdentifiers);
+
+    /**
+     * Removes multiple clients from a group.
+     *
+     * @param group             the group the clients will be removed from.
+     * @param clientIdentifiers the identifiers of the clients which will be removed from the group.
+     * @throws IncompatibleHiveMQVersionException if a node with a version lower than 3.4.0 exists in the cluster.
+     * @throws RateLimitExceededException if the plugin service rate limit was exceeded.
+     * @since 3.4
+     */
+    void removeClientsFromGroup(@NotNull String group, @NotNull Collection<String> clientIdentifiers);
+
+    /**
+     * Retrieves the groups a client belongs to.
+     * <p>
+     * HiveMQ keeps an index of the groups per client, so this method doesn't need to query the members of all groups.
+     *
+     * @param clientIdentifier the identifier of the client the groups will be retrieved of.
+     * @return the groups the given client belongs to.
+     * @throws IncompatibleHiveMQVersionException if a node with a version lower than 3.4.0 exists in the cluster.
+     * @throws RateLimitExceededException if the plugin service rate limit was exceeded.
+     * @since 3.4
+     */
+    @NotNull
+    ImmutableSet<String> getGroupsForClient(@NotNull String clientIdentifier);
+
+    /**
+     * Checks if a client belongs to a group, without retrieving all clients of the group.
+     *
+     * @param group            the group to check.
+     * @param clientIdentifier the identifier of the client to check.
+     * @return <code>true</code> if the client belongs to the given group.
+     * @throws IncompatibleHiveMQVersionException if a node with a version lower than 3.4.0 exists in the cluster.
+     * @throws RateLimitExceededException if the plugin service rate limit was exceeded.
+     * @since 3.4
+     */
+    boolean isClientInGroup(@NotNull String group, @NotNull String clientIdentifier);
+
+    /**
+     * Retrieves the amount of clients in a group, without retrieving all clients of the group.
+     *
+     * @param group the group the client count will be retrieved of.
+     * @return the amount of clients belonging to the given group.
+     * @throws IncompatibleHiveMQVersionException if a node with a version lower than 3.4.0 exists in the cluster.
+     * @throws RateLimitExceededException if the plugin service rate limit was exceeded.
+     * @since 3.4
+     */
+    int getClientCountForGroup(@NotNull String group);
+
+    /**
+     * Retrieves a chunk of the clients of a group.
+     * <p>
+     * Each chunk contains at most <code>chunkSize</code> clients. Pass <code>null</code> as cursor to fetch the first chunk
+     * and the {@link ClientGroupChunk#getCursor()} of the previous chunk to fetch the next one, until
+     * {@link ClientGroupChunk#isLastChunk()} returns <code>true</code>.
+     * <p>
+     * In contrast to {@link #getClientsForGroup(String)} the members of the group are never held in memory at once,
+     * so use this method for large groups. Clients which are added or removed while iterating may or may not be contained in the result.
+     *
+     * @param group     the group the clients will be retrieved of.
+     * @param cursor    the cursor of the previous chunk or <code>null</code> for the first chunk.
+     * @param chunkSize the maximum amount of clients in the returned chunk, must be greater than 0.
+     * @return the next chunk of clients belonging to the given group.
+     * @throws IncompatibleHiveMQVersionException if a node with a version lower than 3.4.0 exists in the cluster.
+     * @throws RateLimitExceededException if the plugin service rate limit was exceeded.
+     * @throws IllegalArgumentException if the chunk size is not greater than 0 or the cursor is invalid.
+     * @since 3.4
+     */
+    @NotNull
+    ClientGroupChunk getClientsForGroupChunk(@NotNull String group, @Nullable String cursor, int chunkSize);
+
 }
@@ -19,11 +19,14 @@ package com.hivemq.spi.services;
 import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableMap;
 import com.hivemq.spi.annotations.NotNull;
+import com.hivemq.spi.annotations.Nullable;
 import com.hivemq.spi.services.exception.IncompatibleHiveMQVersionException;
 import com.hivemq.spi.services.exception.NoSuchClientIdException;
 import com.hivemq.spi.services.exception.RateLimitExceededException;
 
 import java.nio.charset.Charset;
+import java.util.Collection;
+import java.util.Map;
 
 /**
  * Through this service a plugin can manage client session attributes with the same lifetime as the MQTT client session.
@@ -180,4 +183,208 @@ public interface BlockingSessionAttributeStore {
      * @throws RateLimitExceededException if the plugin service rate limit was exceeded.
      */
     void clear(@NotNull String clientId) throws NoSuchClientIdException;
+
+    /**
+     * Retrieves the values of the session attributes with the given keys for a persistent client.
+     * <p>
+     * All keys are read at once in a single persistence task, which is preferable to calling
+     * {@link #get(String, String)} for every single key.
+     *
+     * @param clientId the clientId of a persistent client.
+     * @param keys     the keys of the session attributes.
+     * @return a map of all given keys which are present and their values.
+     * @throws NoSuchClientIdException if no session for the given clientId exists.
+     * @throws IncompatibleHiveMQVersionException if a node with a version lower than 3.4.0 exists in the cluster.
+     * @throws RateLimitExceededException if the plugin service rate limit was exceeded.
+     * @since 3.4
+     */
+    @NotNull
+    ImmutableMap<String, byte[]> getMany(@NotNull String clientId, @NotNull Collection<String> keys) throws NoSuchClientIdException;
+
+    /**
+     * Sets all given session attributes for a persistent client.
+     * <p>
+     * All attributes are written at once in a single persistence task, which is preferable to calling
+     * {@link #put(String, String, byte[])} for every single attribute.
+     *
+     * @param clientId   the clientId of a persistent client.
+     * @param attributes the keys and values of the session attributes.
+     * @throws NoSuchClientIdException if no session for the given clientId exists.
+     * @throws IncompatibleHiveMQVersionException if a node with a version lower than 3.4.0 exists in the cluster.
+     * @throws RateLimitExceededException if the plugin service rate limit was exceeded.
+     * @since 3.4
+     */
+    void putMany(@NotNull String clientId, @NotNull Map<String, byte[]> attributes) throws NoSuchClientIdException;
+
+    /**
+     * Removes the session attributes with the given keys for a persistent client.
+     * <p>
+     * All attributes are removed at once in a single persistence task, which is preferable to calling
+     * {@link #remove(String, String)} for every single key.
+     *
+     * @param clientId the clientId of a persistent client.
+     * @param keys     the keys of the session attributes.
+     * @return a map of all removed keys which were present and their previous values.
+     * @throws NoSuchClientIdException if no session for the given clientId exists.
+     * @throws IncompatibleHiveMQVersionException if a node with a version lower than 3.4.0 exists in the cluster.
+     * @throws RateLimitExceededException if the plugin service rate limit was exceeded.
+     * @since 3.4
+     */
+    @NotNull
+    ImmutableMap<String, byte[]> removeMany(@NotNull String clientId, @NotNull Collection<String> keys) throws NoSuchClientIdException;
+
+    /**
+     * Streams the value of the session attribute with the given key for all given persistent clients to the
+     * given {@link ChunkCallback}. This method blocks until the last chunk was passed to the callback or the
+     * callback stopped the iteration.
+     * <p>
+     * Clients which don't have a session or don't have the session attribute are skipped.
+     * The persistence buckets are read in parallel, the chunks are still passed to the callback one after another.
+     * There is no guaranteed order of the clients.
+     *
+     * @param clientIds the clientIds of persistent clients.
+     * @param key       the key of the session attribute.
+     * @param callback  the callback which receives the session attributes in chunks.
+     * @throws IncompatibleHiveMQVersionException if a node with a version lower than 3.4.0 exists in the cluster.
+     * @throws RateLimitExceededException if the plugin service rate limit was exceeded.
+     * @since 3.4
+     */
+    void iterateAttributeForClients(@NotNull Collection<String> clientIds, @NotNull String key, @NotNull ChunkCallback<ClientSessionAttribute> callback);
+
+    /**
+     * Streams the value of the session attribute with the given key for all persistent clients to the given
+     * {@link ChunkCallback}. This method blocks until the last chunk was passed to the callback or the
+     * callback stopped the iteration.
+     * <p>
+     * Clients which don't have the session attribute are skipped.
+     * The persistence buckets are read in parallel, the chunks are still passed to the callback one after another.
+     * There is no guaranteed order of the clients.
+     *
+     * @param key      the key of the session attribute.
+     * @param callback the callback which receives the session attributes in chunks.
+     * @throws IncompatibleHiveMQVersionException if a node with a version lower than 3.4.0 exists in the cluster.
+     * @throws RateLimitExceededException if the plugin service rate limit was exceeded.
+     * @since 3.4
+     */
+    void iterateAttributeForAllClients(@NotNull String key, @NotNull ChunkCallback<ClientSessionAttribute> callback);
+
+    /**
+     * Atomically sets the session attribute with the given key for a persistent client to the given new value,
+     * if the currently stored value equals the expected value.
+     * <p>
+     * The comparison and the update are executed as one task of the session attribute persistence,
+     * so no other modification of the attribute can happen in between.
+     *
+     * @param clientId the clientId of a persistent client.
+     * @param key      the key of the session attribute.
+     * @param expected the expected current value of the session attribute or <code>null</code> if the attribute is expected to be absent.
+     * @param newValue the new value of the session attribute.
+     * @return <code>true</code> if the value was set and <code>false</code> if the current value didn't equal the expected value.
+     * @throws NoSuchClientIdException if no session for the given clientId exists.
+     * @throws IncompatibleHiveMQVersionException if a node with a version lower than 3.4.0 exists in the cluster.
+     * @throws RateLimitExceededException if the plugin service rate limit was exceeded.
+     * @since 3.4
+     */
+    boolean compareAndSet(@NotNull String clientId, @NotNull String key, @Nullable byte[] expected, @NotNull byte[] newValue) throws NoSuchClientIdException;
+
+    /**
+     * Atomically adds the given delta to the counter stored in the session attribute with the given key for a
+     * persistent client and returns the updated value.
+     * <p>
+     * A counter is stored as 8 byte big-endian long value. If the session attribute is absent, the counter starts at 0.
+     * The update is executed as one task of the session attribute persistence, so concurrent increments don't need a
+     * read-modify-write cycle and can't get lost.
+     *
+     * @param clientId the clientId of a persistent client.
+     * @param key      the key of the session attribute.
+     * @param delta    the value to add to the counter, may be negative.
+     * @return the updated value of the counter.
+     * @throws NoSuchClientIdException if no session for the given clientId exists.
+     * @throws IncompatibleHiveMQVersionException if a node with a version lower than 3.4.0 exists in the cluster.
+     * @throws RateLimitExceededException if the plugin service rate limit was exceeded.
+     * @throws IllegalStateException if the current value of the session attribute is not an 8 byte long value.
+     * @since 3.4
+     */
+    long incrementAndGet(@NotNull String clientId, @NotNull String key, long delta) throws NoSuchClientIdException;
+
+    /**
+     * Sets the given session attribute for a persistent client, which is removed automatically when the given
+     * time to live expires.
+     * <p>
+     * Expired session attributes are not returned anymore, but the removal itself may happen
+     * with a delay of up to one second. If the session attribute is overwritten by any other put method,
+     * the time to live doesn't apply anymore.
+     *
+     * @param clientId the clientId of a persistent client.
+     * @param key      the key of the session attribute.
+     * @param value    the value of the session attribute.
+     * @param ttl      the time to live of the session attribute in seconds.
+     * @throws NoSuchClientIdException if no session for the given clientId exists.
+     * @throws com.hivemq.spi.callback.exception.InvalidTTLException if the given TTL is invalid (< 1).
+     * @throws IncompatibleHiveMQVersionException if a node with a version lower than 3.4.0 exists in the cluster.
+     * @throws RateLimitExceededException if the plugin service rate limit was exceeded.
+     * @since 3.4
+     */
+    void putWithTTL(@NotNull String clientId, @NotNull String key, @NotNull byte[] value, int ttl) throws NoSuchClientIdException;
+
+    /**
+     * Sets the given session attribute as long value for a persistent client.
+     * <p>
+     * The value is kept in primitive form and only encoded as 8 byte big-endian value when it is persisted or
+     * replicated, so it can be used as counter with {@link #incrementAndGet(String, String, long)}.
+     *
+     * @param clientId the clientId of a persistent client.
+     * @param key      the key of the session attribute.
+     * @param value    the value of the session attribute.
+     * @throws NoSuchClientIdException if no session for the given clientId exists.
+     * @throws IncompatibleHiveMQVersionException if a node with a version lower than 3.4.0 exists in the cluster.
+     * @throws RateLimitExceededException if the plugin service rate limit was exceeded.
+     * @since 3.4
+     */
+    void putLong(@NotNull String clientId, @NotNull String key, long value) throws NoSuchClientIdException;
+
+    /**
+     * Sets the given session attribute as int value for a persistent client.
+     * <p>
+     * The value is kept in primitive form and only encoded as 4 byte big-endian value when it is persisted or replicated.
+     *
+     * @param clientId the clientId of a persistent client.
+     * @param key      the key of the session attribute.
+     * @param value    the value of the session attribute.
+     * @throws NoSuchClientIdException if no session for the given clientId exists.
+     * @throws IncompatibleHiveMQVersionException if a node with a version lower than 3.4.0 exists in the cluster.
+     * @throws RateLimitExceededException if the plugin service rate limit was exceeded.
+     * @since 3.4
+     */
+    void putInt(@NotNull String clientId, @NotNull String key, int value) throws NoSuchClientIdException;
+
+    /**
+     * Retrieves the value of the session attribute with the given key for a persistent client as long value.
+     *
+     * @param clientId     the clientId of a persistent client.
+     * @param key          the key of the session attribute.
+     * @param defaultValue the value which is returned if the session attribute is not present.
+     * @return the value of the session attribute or the default value if it is not present.
+     * @throws NoSuchClientIdException if no session for the given clientId exists.
+     * @throws IncompatibleHiveMQVersionException if a node with a version lower than 3.4.0 exists in the cluster.
+     * @throws RateLimitExceededException if the plugin service rate limit was exceeded.
+     * @throws IllegalStateException if the session attribute is not a long value (8 bytes).
+     * @since 3.4
+     */
+    long getLong(@NotNull String clientId, @NotNull String key, long defaultValue) throws NoSuchClientIdException;
+
+    /**
+     * Retrieves the value of the session attribute with the given key for a persistent client as int value.
+     *
+     * @param clientId     the clientId of a persistent client.
+     * @param key          the key of the session attribute.
+     * @param defaultValue the value which is returned if the session attribute is not present.
+     * @return the value of the session attribute or the default value if it is not present.
+     * @throws NoSuchClientIdException if no session for the given clientId exists.
+     * @throws IncompatibleHiveMQVersionException if a node with a version lower than 3.4.0 exists in the cluster.
+     * @throws RateLimitExceededException if the plugin service rate limit was exceeded.
+     * @throws IllegalStateException if the session attribute is not an int value (4 bytes).
+     * @since 3.4
+     */
+    int getInt(@NotNull String clientId, @NotNull String key, int defaultValue) throws NoSuchClientIdException;
 }
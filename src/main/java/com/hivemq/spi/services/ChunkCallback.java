@@ -0,0 +1,45 @@
+/*
+ * Copyright 2018 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.services;
+
+import com.hivemq.spi.annotations.NotNull;
+
+import java.util.Collection;
+
+/**
+ * A callback which receives the results of a streaming service method chunk by chunk, so the
+ * complete result never has to be held in memory at once.
+ * <p/>
+ * Chunks are delivered one after another and never concurrently. The next chunk is only fetched
+ * after the previous call to {@link #onChunk(Collection)} returned, so a slow callback
+ * automatically slows down the iteration.
+ *
+ * @param <T> the type of the streamed elements
+ * @since 3.4
+ */
+public interface ChunkCallback<T> {
+
+    /**
+     * Called for every chunk of results.
+     * <p/>
+     * The passed collection is read-only and must not be modified or kept after this method returns.
+     *
+     * @param chunk the next chunk of results, never empty
+     * @return <code>true</code> if the iteration should continue, <code>false</code> to stop the iteration
+     */
+    boolean onChunk(@NotNull Collection<T> chunk);
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2018 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.services;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+import com.hivemq.spi.annotations.Immutable;
+import com.hivemq.spi.annotations.NotNull;
+import com.hivemq.spi.annotations.Nullable;
+
+import java.util.Collection;
+
+/**
+ * A chunk of the clients of a group returned by {@link AsyncClientGroupService#getClientsForGroupChunk(String, String, int)}
+ * and {@link BlockingClientGroupService#getClientsForGroupChunk(String, String, int)}.
+ * <p/>
+ * To fetch the next chunk, pass the {@link #getCursor()} of this chunk to the next call. If there are no more clients
+ * left, {@link #isLastChunk()} returns <code>true</code>.
+ *
+ * @since 3.4
+ */
+@Immutable
+public class ClientGroupChunk {
+
+    private final ImmutableSet<String> clientIdentifiers;
+    private final String cursor;
+
+    /**
+     * @param clientIdentifiers the identifiers of the clients in this chunk
+     * @param cursor            the cursor for the next chunk or <code>null</code> if this is the last chunk
+     */
+    public ClientGroupChunk(@NotNull final Collection<String> clientIdentifiers, @Nullable final String cursor) {
+        Preconditions.checkNotNull(clientIdentifiers, "Client identifiers must not be null");
+        this.clientIdentifiers = ImmutableSet.copyOf(clientIdentifiers);
+        this.cursor = cursor;
+    }
+
+    /**
+     * @return the identifiers of the clients in this chunk
+     */
+    @NotNull
+    public ImmutableSet<String> getClientIdentifiers() {
+        return clientIdentifiers;
+    }
+
+    /**
+     * @return the opaque cursor which must be passed to fetch the next chunk or <code>null</code> if this is the last chunk
+     */
+    @Nullable
+    public String getCursor() {
+        return cursor;
+    }
+
+    /**
+     * @return <code>true</code> if there are no more clients after this chunk, <code>false</code> otherwise
+     */
+    public boolean isLastChunk() {
+        return cursor == null;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2018 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.services;
+
+import com.google.common.base.Preconditions;
+import com.hivemq.spi.annotations.Immutable;
+import com.hivemq.spi.annotations.NotNull;
+
+/**
+ * A single session attribute of a client, as returned by the bulk read methods of the {@link AsyncSessionAttributeStore}.
+ *
+ * @since 3.4
+ */
+@Immutable
+public class ClientSessionAttribute {
+
+    private final String clientId;
+    private final String key;
+    private final byte[] value;
+
+    public ClientSessionAttribute(@NotNull final String clientId, @NotNull final String key, @NotNull final byte[] value) {
+        Preconditions.checkNotNull(clientId, "Client id must not be null");
+        Preconditions.checkNotNull(key, "Key must not be null");
+        Preconditions.checkNotNull(value, "Value must not be null");
+        this.clientId = clientId;
+        this.key = key;
+        this.value = value;
+    }
+
+    /**
+     * @return the clientId of the client the session attribute belongs to
+     */
+    @NotNull
+    public String getClientId() {
+        return clientId;
+    }
+
+    /**
+     * @return the key of the session attribute
+     */
+    @NotNull
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * The returned array must not be modified.
+     *
+     * @return the value of the session attribute
+     */
+    @NotNull
+    public byte[] getValue() {
+        return value;
+    }
+}
@@ -84,6 +84,42 @@ public interface ConnectionAttributeStore {
      */
     void putAsString(@NotNull String key, @NotNull String value, @NotNull Charset charset);
 
+    /**
+     * Sets the given connection attribute as long value for the connected client.
+     * <p>
+     * The value is kept in primitive form and is only encoded as 8 byte big-endian value if it is read as bytes,
+     * e.g. with {@link #get(String)}.
+     *
+     * @param key   the key of the connection attribute.
+     * @param value the value of the connection attribute.
+     * @since 3.4
+     */
+    void putLong(@NotNull String key, long value);
+
+    /**
+     * Sets the given connection attribute as int value for the connected client.
+     * <p>
+     * The value is kept in primitive form and is only encoded as 4 byte big-endian value if it is read as bytes,
+     * e.g. with {@link #get(String)}.
+     *
+     * @param key   the key of the connection attribute.
+     * @param value the value of the connection attribute.
+     * @since 3.4
+     */
+    void putInt(@NotNull String key, int value);
+
+    /**
+     * Atomically adds the given delta to the long value of the connection attribute with the given key and returns
+     * the updated value. If the connection attribute is absent, the value starts at 0.
+     *
+     * @param key   the key of the connection attribute.
+     * @param delta the value to add, may be negative.
+     * @return the updated value of the connection attribute.
+     * @throws IllegalStateException if the connection attribute is present but not a long value (8 bytes).
+     * @since 3.4
+     */
+    long addAndGetLong(@NotNull String key, long delta);
+
     /**
      * Retrieves the value of the connection attribute with the given key for the connected client.
      *
@@ -112,6 +148,28 @@ public interface ConnectionAttributeStore {
     @NotNull
     Optional<String> getAsString(@NotNull String key, @NotNull Charset charset);
 
+    /**
+     * Retrieves the value of the connection attribute with the given key for the connected client as long value.
+     *
+     * @param key          the key of the connection attribute.
+     * @param defaultValue the value to return if the connection attribute is absent.
+     * @return the value of the connection attribute or the default value if absent.
+     * @throws IllegalStateException if the connection attribute is present but not a long value (8 bytes).
+     * @since 3.4
+     */
+    long getLong(@NotNull String key, long defaultValue);
+
+    /**
+     * Retrieves the value of the connection attribute with the given key for the connected client as int value.
+     *
+     * @param key          the key of the connection attribute.
+     * @param defaultValue the value to return if the connection attribute is absent.
+     * @return the value of the connection attribute or the default value if absent.
+     * @throws IllegalStateException if the connection attribute is present but not an int value (4 bytes).
+     * @since 3.4
+     */
+    int getInt(@NotNull String key, int defaultValue);
+
     /**
      * Retrieves all connection attributes for the connected client.
      *
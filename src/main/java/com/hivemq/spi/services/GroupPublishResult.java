@@ -0,0 +1,84 @@
+/*
+ * Copyright 2018 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.services;
+
+import com.google.common.base.Preconditions;
+import com.hivemq.spi.annotations.Immutable;
+
+/**
+ * The result of a PUBLISH which was sent to all members of a client group with
+ * {@link PublishService#publishToGroup(com.hivemq.spi.message.PUBLISH, String)}.
+ *
+ * @since 3.4
+ */
+@Immutable
+public class GroupPublishResult {
+
+    private final int deliveredCount;
+    private final int queuedCount;
+
+    public GroupPublishResult(final int deliveredCount, final int queuedCount) {
+        Preconditions.checkArgument(deliveredCount >= 0, "Delivered count must not be negative");
+        Preconditions.checkArgument(queuedCount >= 0, "Queued count must not be negative");
+        this.deliveredCount = deliveredCount;
+        this.queuedCount = queuedCount;
+    }
+
+    /**
+     * @return the amount of connected group members the PUBLISH was sent to
+     */
+    public int getDeliveredCount() {
+        return deliveredCount;
+    }
+
+    /**
+     * @return the amount of offline group members with a persistent session the PUBLISH was queued for
+     */
+    public int getQueuedCount() {
+        return queuedCount;
+    }
+
+    /**
+     * @return the amount of group members which received the PUBLISH or will receive it when they reconnect
+     */
+    public int getTotalCount() {
+        return deliveredCount + queuedCount;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        final GroupPublishResult that = (GroupPublishResult) o;
+
+        return deliveredCount == that.deliveredCount && queuedCount == that.queuedCount;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * deliveredCount + queuedCount;
+    }
+
+    @Override
+    public String toString() {
+        return "GroupPublishResult{" +
+                "deliveredCount=" + deliveredCount +
+                ", queuedCount=" + queuedCount +
+                '}';
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2018 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.services;
+
+/**
+ * The outcome of a PUBLISH which was sent to a single client with
+ * {@link PublishService#publishToClientWithOutcome(com.hivemq.spi.message.PUBLISH, String)}.
+ *
+ * @since 3.4
+ */
+public enum PublishDeliveryOutcome {
+
+    /**
+     * The PUBLISH with QoS 0 was written to the connection of the client.
+     */
+    DELIVERED,
+
+    /**
+     * The client is offline and has a persistent session, so the PUBLISH was queued until the client reconnects.
+     * Also used if the client disconnected before it acknowledged a QoS 1 or 2 PUBLISH which is kept in its session.
+     */
+    QUEUED,
+
+    /**
+     * The PUBLISH was dropped because the queue of the client was full.
+     */
+    DROPPED_QUEUE_FULL,
+
+    /**
+     * The client is offline and has no persistent session, so the PUBLISH was dropped.
+     * Also used if the client disconnected before it acknowledged a QoS 1 or 2 PUBLISH and had a clean session.
+     */
+    NOT_CONNECTED,
+
+    /**
+     * The client has no subscription which matches the topic of the PUBLISH, so the PUBLISH was dropped.
+     * {@link PublishService#publishtoClient(com.hivemq.spi.message.PUBLISH, String)} only delivers to subscribed clients,
+     * so without this outcome a PUBLISH which was never sent would be indistinguishable from a delivered one.
+     */
+    NOT_SUBSCRIBED,
+
+    /**
+     * The PUBLISH with QoS 1 or 2 was acknowledged by the client with a PUBACK or PUBREC.
+     */
+    ACKED
+}
@@ -16,9 +16,12 @@
 
 package com.hivemq.spi.services;
 
+import com.google.common.util.concurrent.ListenableFuture;
 import com.hivemq.spi.annotations.NotNull;
 import com.hivemq.spi.message.PUBLISH;
 
+import java.util.Collection;
+
 /**
  * This service allows plugins to publish new MQTT messages programmatically
  *
@@ -39,6 +42,67 @@ public interface PublishService {
      */
     void publish(@NotNull PUBLISH publish);
 
+    /**
+     * Publishes multiple MQTT {@link PUBLISH} messages. The standard MQTT topic matching mechanism of HiveMQ will apply.
+     * <p/>
+     * The subscribers for a topic are only looked up once per batch, so PUBLISHes with the same topic should be
+     * published together. PUBLISHes with the same topic are routed in the order of the given collection.
+     * <p/>
+     * If any of the given {@link PUBLISH}es or any of their information (topic,qos,message) is null, a {@link NullPointerException}
+     * will be thrown and none of the PUBLISHes will be published.
+     *
+     * @param publishes objects with topic, QoS and message, which should be published to all subscribed clients
+     * @return a {@link ListenableFuture} succeeding as soon as all PUBLISHes were routed to the subscribed clients,
+     * failing with a {@link com.hivemq.spi.services.exception.RateLimitExceededException} if the plugin service rate limit was exceeded.
+     * @throws NullPointerException if the given collection is <code>null</code> or contains <code>null</code> or
+     *                              any relevant information like topic, qos or message is <code>null</code>
+     * @since 3.4
+     */
+    @NotNull
+    ListenableFuture<Void> publish(@NotNull Collection<? extends PUBLISH> publishes);
+
+    /**
+     * Publishes a new MQTT {@link PUBLISH} message, if the broker currently has capacity for it.
+     * The standard MQTT topic matching mechanism of HiveMQ will apply.
+     * <p/>
+     * Every PUBLISH takes a credit until it is routed to the subscribed clients. The amount of credits is limited by
+     * {@link com.hivemq.spi.services.configuration.ThrottlingConfigurationService#pluginPublishInFlightLimit()} and is
+     * additionally reduced while the overload protection of HiveMQ is active, so plugins are throttled in the same way as MQTT clients.
+     * <p/>
+     * If no credit is available, the PUBLISH is not published and <code>false</code> is returned. Use
+     * {@link #publishCreditsAvailable()} to get notified when it is worth retrying, instead of retrying in a loop.
+     *
+     * @param publish object with topic, QoS and message, which should be published to all subscribed clients
+     * @return <code>true</code> if the PUBLISH was accepted, <code>false</code> if no credit was available
+     * @throws NullPointerException if the given object is <code>null</code> or any relevant information like topic, qos
+     *                              or message is <code>null</code>
+     * @since 3.4
+     */
+    boolean tryPublish(@NotNull PUBLISH publish);
+
+    /**
+     * Returns a future which succeeds as soon as credits for {@link #tryPublish(PUBLISH)} are available.
+     * If credits are available already, the returned future is completed.
+     * <p/>
+     * Credits are not reserved, so a concurrent {@link #tryPublish(PUBLISH)} may still take the free credits.
+     *
+     * @return a {@link ListenableFuture} succeeding as soon as credits are available
+     * @since 3.4
+     */
+    @NotNull
+    ListenableFuture<Void> publishCreditsAvailable();
+
+    /**
+     * Returns the amount of PUBLISHes which can currently be published with {@link #tryPublish(PUBLISH)}.
+     * <p/>
+     * If {@link com.hivemq.spi.services.configuration.ThrottlingConfigurationService#pluginPublishInFlightLimit()} is 0
+     * (unlimited) and the overload protection isn't active, {@link Integer#MAX_VALUE} is returned.
+     *
+     * @return the amount of PUBLISHes which can currently be published with {@link #tryPublish(PUBLISH)}
+     * @since 3.4
+     */
+    int getAvailablePublishCredits();
+
 
     /**
      * Publishes a new MQTT {@link PUBLISH} message.
@@ -53,4 +117,56 @@ public interface PublishService {
      *                              or message is <code>null</code>
      */
     void publishtoClient(@NotNull PUBLISH publish, @NotNull String clientId);
+
+    /**
+     * Publishes a new MQTT {@link PUBLISH} message to a single client and reports what happened to it.
+     * <p/>
+     * The same rules as for {@link #publishtoClient(PUBLISH, String)} apply. The returned future succeeds with
+     * <ul>
+     * <li>{@link PublishDeliveryOutcome#DELIVERED} as soon as a QoS 0 PUBLISH was written to the connection of the client</li>
+     * <li>{@link PublishDeliveryOutcome#ACKED} as soon as a QoS 1 or 2 PUBLISH was acknowledged by the client</li>
+     * <li>{@link PublishDeliveryOutcome#QUEUED} if the client is offline and the PUBLISH was queued in its persistent session</li>
+     * <li>{@link PublishDeliveryOutcome#DROPPED_QUEUE_FULL} if the queue of the client was full</li>
+     * <li>{@link PublishDeliveryOutcome#NOT_CONNECTED} if the client is offline and has no persistent session</li>
+     * <li>{@link PublishDeliveryOutcome#NOT_SUBSCRIBED} if the client isn't subscribed on the topic of the PUBLISH</li>
+     * </ul>
+     * If the client disconnects while a QoS 1 or 2 PUBLISH is in flight and not acknowledged yet, the future succeeds with
+     * {@link PublishDeliveryOutcome#QUEUED} if the PUBLISH is kept in the persistent session of the client and with
+     * {@link PublishDeliveryOutcome#NOT_CONNECTED} if the client had a clean session and the PUBLISH was dropped.
+     * So the returned future always completes, even if the client never acknowledges the PUBLISH.
+     * <p/>
+     * A queued PUBLISH doesn't complete the future again when it is delivered after the client reconnected.
+     *
+     * @param publish  object with topic, QoS and message, which should be published to the client
+     * @param clientId the identifier of the client the PUBLISH will be sent to
+     * @return a {@link ListenableFuture} succeeding with the outcome of the delivery,
+     * failing with a {@link com.hivemq.spi.services.exception.RateLimitExceededException} if the plugin service rate limit was exceeded.
+     * @throws NullPointerException if the given object is <code>null</code> or any relevant information like topic, qos
+     *                              or message is <code>null</code>
+     * @since 3.4
+     */
+    @NotNull
+    ListenableFuture<PublishDeliveryOutcome> publishToClientWithOutcome(@NotNull PUBLISH publish, @NotNull String clientId);
+
+    /**
+     * Publishes a new MQTT {@link PUBLISH} message to all members of a client group.
+     * <p/>
+     * The PUBLISH will only be delivered to the members of the group which are subscribed on the topic of the PUBLISH,
+     * like with {@link #publishtoClient(PUBLISH, String)}. In contrast to calling {@link #publishtoClient(PUBLISH, String)}
+     * for every member of {@link AsyncClientGroupService#getClientsForGroup(String)}, the members are resolved by HiveMQ
+     * and all recipients share the same payload.
+     * <p/>
+     * If the group doesn't exist or has no members, the returned future succeeds with a result with a count of 0.
+     *
+     * @param publish object with topic, QoS and message, which should be published to the members of the group
+     * @param group   the group the PUBLISH will be sent to
+     * @return a {@link ListenableFuture} succeeding with the amount of group members the PUBLISH was delivered to or queued for,
+     * failing with a {@link com.hivemq.spi.services.exception.IncompatibleHiveMQVersionException} if a node with a version lower than 3.4.0 exists in the cluster.
+     * failing with a {@link com.hivemq.spi.services.exception.RateLimitExceededException} if the plugin service rate limit was exceeded.
+     * @throws NullPointerException if the given object is <code>null</code> or any relevant information like topic, qos
+     *                              or message is <code>null</code>
+     * @since 3.4
+     */
+    @NotNull
+    ListenableFuture<GroupPublishResult> publishToGroup(@NotNull PUBLISH publish, @NotNull String group);
 }
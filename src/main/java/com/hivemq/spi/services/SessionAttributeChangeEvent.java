@@ -0,0 +1,115 @@
+/*
+ * Copyright 2018 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.services;
+
+import com.google.common.base.Preconditions;
+import com.hivemq.spi.annotations.Immutable;
+import com.hivemq.spi.annotations.NotNull;
+import com.hivemq.spi.annotations.Nullable;
+
+/**
+ * A single change of the session attributes of a client, as emitted by
+ * {@link AsyncSessionAttributeStore#subscribeToChanges(ChunkCallback, int)}.
+ *
+ * @since 3.4
+ */
+@Immutable
+public class SessionAttributeChangeEvent {
+
+    private final SessionAttributeChangeType type;
+    private final String clientId;
+    private final String key;
+    private final byte[] value;
+    private final long version;
+
+    /**
+     * @param type     the type of the change
+     * @param clientId the clientId of the client whose session attributes changed
+     * @param key      the key of the changed session attribute or <code>null</code> for {@link SessionAttributeChangeType#CLEAR}
+     * @param value    the new value of the session attribute or <code>null</code> if the type is not {@link SessionAttributeChangeType#PUT}
+     * @param version  the version of the session attributes of the client after the change
+     */
+    public SessionAttributeChangeEvent(@NotNull final SessionAttributeChangeType type,
+                                       @NotNull final String clientId,
+                                       @Nullable final String key,
+                                       @Nullable final byte[] value,
+                                       final long version) {
+        Preconditions.checkNotNull(type, "Type must not be null");
+        Preconditions.checkNotNull(clientId, "Client id must not be null");
+        Preconditions.checkArgument(type == SessionAttributeChangeType.CLEAR || key != null, "Key must not be null for type %s", type);
+        Preconditions.checkArgument(type != SessionAttributeChangeType.PUT || value != null, "Value must not be null for type %s", type);
+        this.type = type;
+        this.clientId = clientId;
+        this.key = key;
+        this.value = value;
+        this.version = version;
+    }
+
+    /**
+     * @return the type of the change
+     */
+    @NotNull
+    public SessionAttributeChangeType getType() {
+        return type;
+    }
+
+    /**
+     * @return the clientId of the client whose session attributes changed
+     */
+    @NotNull
+    public String getClientId() {
+        return clientId;
+    }
+
+    /**
+     * @return the key of the changed session attribute or <code>null</code> if all session attributes were cleared
+     */
+    @Nullable
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * The returned array must not be modified.
+     *
+     * @return the new value of the session attribute or <code>null</code> if the session attribute was removed or cleared
+     */
+    @Nullable
+    public byte[] getValue() {
+        return value;
+    }
+
+    /**
+     * The version increases with every change of the session attributes of a client. A change with a
+     * lower version than an already applied change of the same client is outdated.
+     *
+     * @return the version of the session attributes of the client after the change
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public String toString() {
+        return "SessionAttributeChangeEvent{" +
+                "type=" + type +
+                ", clientId='" + clientId + '\'' +
+                ", key='" + key + '\'' +
+                ", version=" + version +
+                '}';
+    }
+}
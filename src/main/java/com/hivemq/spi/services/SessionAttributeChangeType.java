@@ -0,0 +1,41 @@
+/*
+ * Copyright 2018 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.services;
+
+/**
+ * The different types of changes of session attributes which are emitted by
+ * {@link AsyncSessionAttributeStore#subscribeToChanges(ChunkCallback, int)}.
+ *
+ * @since 3.4
+ */
+public enum SessionAttributeChangeType {
+
+    /**
+     * A session attribute was set or overwritten.
+     */
+    PUT,
+
+    /**
+     * A single session attribute was removed, either explicitly or because its time to live expired.
+     */
+    REMOVE,
+
+    /**
+     * All session attributes of a client were removed.
+     */
+    CLEAR
+}
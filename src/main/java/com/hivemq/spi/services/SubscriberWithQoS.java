@@ -0,0 +1,82 @@
+/*
+ * Copyright 2018 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.services;
+
+import com.google.common.base.Preconditions;
+import com.hivemq.spi.annotations.Immutable;
+import com.hivemq.spi.annotations.NotNull;
+import com.hivemq.spi.message.QoS;
+
+/**
+ * A client which would receive a PUBLISH on a given topic, together with the QoS HiveMQ granted for the subscription.
+ * <p/>
+ * If a client has multiple subscriptions matching the same topic, the highest granted QoS is used.
+ *
+ * @since 3.4
+ */
+@Immutable
+public class SubscriberWithQoS {
+
+    private final String clientId;
+    private final QoS qoS;
+
+    public SubscriberWithQoS(@NotNull final String clientId, @NotNull final QoS qoS) {
+        Preconditions.checkNotNull(clientId, "Client id must not be null");
+        Preconditions.checkNotNull(qoS, "QoS must not be null");
+        this.clientId = clientId;
+        this.qoS = qoS;
+    }
+
+    /**
+     * @return the client identifier of the subscriber
+     */
+    @NotNull
+    public String getClientId() {
+        return clientId;
+    }
+
+    /**
+     * @return the granted QoS of the subscription
+     */
+    @NotNull
+    public QoS getQoS() {
+        return qoS;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        final SubscriberWithQoS that = (SubscriberWithQoS) o;
+
+        return clientId.equals(that.clientId) && qoS == that.qoS;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * clientId.hashCode() + qoS.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "SubscriberWithQoS{" +
+                "clientId='" + clientId + '\'' +
+                ", qoS=" + qoS +
+                '}';
+    }
+}
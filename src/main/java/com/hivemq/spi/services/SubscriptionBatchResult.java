@@ -0,0 +1,85 @@
+/*
+ * Copyright 2018 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.services;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.Multimap;
+import com.hivemq.spi.annotations.Immutable;
+import com.hivemq.spi.annotations.NotNull;
+import com.hivemq.spi.annotations.ReadOnly;
+
+/**
+ * The result of a batch operation like {@link AsyncSubscriptionStore#addSubscriptions(java.util.Map)} or
+ * {@link AsyncSubscriptionStore#removeSubscriptions(java.util.Map)}.
+ * <p/>
+ * Contains the outcome for every single pair of client identifier and topic of the batch.
+ *
+ * @since 3.4
+ */
+@Immutable
+public class SubscriptionBatchResult {
+
+    private final ImmutableSetMultimap<String, String> successful;
+    private final ImmutableSetMultimap<String, String> failed;
+
+    /**
+     * @param successful the client identifiers and topics which were processed successfully
+     * @param failed     the client identifiers and topics which could not be processed
+     */
+    public SubscriptionBatchResult(@NotNull final Multimap<String, String> successful,
+                                   @NotNull final Multimap<String, String> failed) {
+        Preconditions.checkNotNull(successful, "Successful subscriptions must not be null");
+        Preconditions.checkNotNull(failed, "Failed subscriptions must not be null");
+        this.successful = ImmutableSetMultimap.copyOf(successful);
+        this.failed = ImmutableSetMultimap.copyOf(failed);
+    }
+
+    /**
+     * @return the client identifiers and topics which were processed successfully
+     */
+    @NotNull
+    @ReadOnly
+    public Multimap<String, String> getSuccessful() {
+        return successful;
+    }
+
+    /**
+     * @return the client identifiers and topics which could not be processed
+     */
+    @NotNull
+    @ReadOnly
+    public Multimap<String, String> getFailed() {
+        return failed;
+    }
+
+    /**
+     * @param clientId the client identifier
+     * @param topic    the topic
+     * @return <code>true</code> if the given pair of client identifier and topic was processed successfully
+     */
+    public boolean isSuccessful(@NotNull final String clientId, @NotNull final String topic) {
+        return successful.containsEntry(clientId, topic);
+    }
+
+    /**
+     * @return <code>true</code> if all pairs of client identifier and topic were processed successfully
+     */
+    public boolean allSuccessful() {
+        return failed.isEmpty();
+    }
+}
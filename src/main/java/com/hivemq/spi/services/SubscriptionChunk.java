@@ -0,0 +1,93 @@
+/*
+ * Copyright 2018 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.services;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMultimap;
+import com.google.common.collect.Multimap;
+import com.hivemq.spi.annotations.Immutable;
+import com.hivemq.spi.annotations.NotNull;
+import com.hivemq.spi.annotations.Nullable;
+import com.hivemq.spi.annotations.ReadOnly;
+import com.hivemq.spi.message.Topic;
+
+/**
+ * A chunk of subscriptions returned by {@link AsyncSubscriptionStore#getSubscriptionsChunk(String, int)} and
+ * the related methods.
+ * <p/>
+ * All subscriptions of a chunk belong to the same HiveMQ cluster node. To fetch the next chunk, pass the
+ * {@link #getCursor()} of this chunk to the next call. If there are no more subscriptions left,
+ * {@link #isLastChunk()} returns <code>true</code>.
+ *
+ * @since 3.4
+ */
+@Immutable
+public class SubscriptionChunk {
+
+    private final String nodeId;
+    private final ImmutableMultimap<String, Topic> subscriptions;
+    private final String cursor;
+
+    /**
+     * @param nodeId        the id of the cluster node the subscriptions belong to
+     * @param subscriptions the subscriptions of this chunk as client identifiers and topics
+     * @param cursor        the cursor for the next chunk or <code>null</code> if this is the last chunk
+     */
+    public SubscriptionChunk(@NotNull final String nodeId,
+                             @NotNull final Multimap<String, Topic> subscriptions,
+                             @Nullable final String cursor) {
+        Preconditions.checkNotNull(nodeId, "Node id must not be null");
+        Preconditions.checkNotNull(subscriptions, "Subscriptions must not be null");
+        this.nodeId = nodeId;
+        this.subscriptions = ImmutableMultimap.copyOf(subscriptions);
+        this.cursor = cursor;
+    }
+
+    /**
+     * @return the id of the HiveMQ cluster node all subscriptions of this chunk belong to
+     */
+    @NotNull
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * The returned Multimap is read-only and must not be modified.
+     *
+     * @return the subscriptions of this chunk as a {@link Multimap} of client identifiers and topics
+     */
+    @NotNull
+    @ReadOnly
+    public Multimap<String, Topic> getSubscriptions() {
+        return subscriptions;
+    }
+
+    /**
+     * @return the opaque cursor which must be passed to fetch the next chunk or <code>null</code> if this is the last chunk
+     */
+    @Nullable
+    public String getCursor() {
+        return cursor;
+    }
+
+    /**
+     * @return <code>true</code> if there are no more subscriptions after this chunk, <code>false</code> otherwise
+     */
+    public boolean isLastChunk() {
+        return cursor == null;
+    }
+}
@@ -66,6 +66,15 @@ public interface MqttConfigurationService {
      */
     int retainedMessageTimeToLive();
 
+    /**
+     * Session attribute values which are larger than this threshold are stored off heap.
+     * A threshold of 0 disables the off heap storage of session attributes.
+     *
+     * @return the size threshold in bytes for storing session attribute values off heap.
+     * @since 3.4
+     */
+    int sessionAttributeOffHeapThreshold();
+
     @Validate(MaxClientIdValidator.class)
     void setMaxClientIdLength(int maxClientIdLength);
 
@@ -86,4 +95,10 @@ public interface MqttConfigurationService {
 
     @Validate(TtlValidator.class)
     void setRetainedMessageTimeToLive(final int retainedMessageTimeToLive);
+
+    /**
+     * @since 3.4
+     */
+    @Validate(value = ZeroablePositiveNumber.class, name = "session attribute off heap threshold")
+    void setSessionAttributeOffHeapThreshold(final int sessionAttributeOffHeapThreshold);
 }
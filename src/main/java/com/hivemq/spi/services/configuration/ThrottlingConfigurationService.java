@@ -56,6 +56,13 @@ public interface ThrottlingConfigurationService {
      */
     int pluginServiceRateLimit();
 
+    /**
+     * @return the maximum amount of PUBLISHes from {@link com.hivemq.spi.services.PublishService#tryPublish(com.hivemq.spi.message.PUBLISH)}
+     * which are not routed yet. 0 means unlimited.
+     * @since 3.4
+     */
+    int pluginPublishInFlightLimit();
+
     /**
      * Changes the maximum concurrent connections at runtime.
      *
@@ -91,6 +98,14 @@ public interface ThrottlingConfigurationService {
      */
     void setPluginServiceRateLimit(int pluginServiceRateLimit);
 
+    /**
+     * Changes the maximum amount of plugin PUBLISHes which are not routed yet at runtime
+     *
+     * @param pluginPublishInFlightLimit the maximum amount of plugin PUBLISHes in flight, 0 means unlimited
+     * @since 3.4
+     */
+    void setPluginPublishInFlightLimit(int pluginPublishInFlightLimit);
+
     /**
      * Adds a callback which gets called when the maximum concurrent connections changes at runtime
      *
@@ -126,4 +141,12 @@ public interface ThrottlingConfigurationService {
      * @param callback the ValueChangedCallback
      */
     void pluginServiceRateLimitChanged(ValueChangedCallback<Integer> callback);
+
+    /**
+     * Adds a callback which gets called when the maximum amount of plugin PUBLISHes in flight changes at runtime
+     *
+     * @param callback the ValueChangedCallback
+     * @since 3.4
+     */
+    void pluginPublishInFlightLimitChanged(ValueChangedCallback<Integer> callback);
 }
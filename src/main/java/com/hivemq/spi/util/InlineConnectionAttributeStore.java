@@ -0,0 +1,515 @@
+/*
+ * Copyright 2018 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.util;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.primitives.Ints;
+import com.google.common.primitives.Longs;
+import com.hivemq.spi.annotations.NotNull;
+import com.hivemq.spi.annotations.ThreadSafe;
+import com.hivemq.spi.callback.exception.LimitExceededException;
+import com.hivemq.spi.services.ConnectionAttributeStore;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * A {@link ConnectionAttributeStore} which is optimized for the common case of connections with only a few connection
+ * attributes.
+ * <p>
+ * Up to {@link #INLINE_CAPACITY} attributes are stored lock-free in small copy-on-write arrays. When more attributes are
+ * added, the store switches to a {@link ConcurrentHashMap} and a versioned snapshot for {@link #getAll()}. {@link #getAll()} returns a cached snapshot as long as the
+ * attributes didn't change.
+ * <p>
+ * Values are copied when they are put and when they are read, so neither the caller nor a callback can modify a stored
+ * value without going through the store. The arrays of the cached snapshot are copies as well.
+ * <p>
+ * Attributes which are set with {@link #putLong(String, long)} or {@link #putInt(String, int)} are kept in
+ * primitive form and are only encoded when they are read as bytes.
+ *
+ * @since 3.4
+ */
+@ThreadSafe
+public class InlineConnectionAttributeStore implements ConnectionAttributeStore {
+
+    /**
+     * The maximum size of a single connection attribute value in bytes
+     */
+    public static final int MAX_VALUE_SIZE = 10 * 1024;
+
+    /**
+     * The maximum amount of connection attributes which are stored inline
+     */
+    public static final int INLINE_CAPACITY = 8;
+
+    private static final AtomicReferenceFieldUpdater<InlineConnectionAttributeStore, Object> STATE_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(InlineConnectionAttributeStore.class, Object.class, "state");
+
+    /**
+     * Either {@link InlineEntries} or {@link MapEntries}. Once switched to {@link MapEntries}, the state never changes again.
+     */
+    private volatile Object state = InlineEntries.EMPTY;
+
+    @Override
+    public void put(@NotNull final String key, @NotNull final byte[] value) {
+        Preconditions.checkNotNull(key, "Key must not be null");
+        Preconditions.checkNotNull(value, "Value must not be null");
+        if (value.length > MAX_VALUE_SIZE) {
+            throw new LimitExceededException("The value of the connection attribute " + key + " exceeds the maximum size of " + MAX_VALUE_SIZE + " bytes");
+        }
+        //the caller may modify the array afterwards
+        putValue(key, Optional.of(value.clone()));
+    }
+
+    @Override
+    public void putAsString(@NotNull final String key, @NotNull final String value) {
+        putAsString(key, value, Charsets.UTF_8);
+    }
+
+    @Override
+    public void putAsString(@NotNull final String key, @NotNull final String value, @NotNull final Charset charset) {
+        Preconditions.checkNotNull(value, "Value must not be null");
+        Preconditions.checkNotNull(charset, "Charset must not be null");
+        put(key, value.getBytes(charset));
+    }
+
+    @Override
+    public void putLong(@NotNull final String key, final long value) {
+        Preconditions.checkNotNull(key, "Key must not be null");
+        putValue(key, new PrimitiveValue(Longs.BYTES, value));
+    }
+
+    @Override
+    public void putInt(@NotNull final String key, final int value) {
+        Preconditions.checkNotNull(key, "Key must not be null");
+        putValue(key, new PrimitiveValue(Ints.BYTES, value));
+    }
+
+    @Override
+    public long addAndGetLong(@NotNull final String key, final long delta) {
+        Preconditions.checkNotNull(key, "Key must not be null");
+        while (true) {
+            final Object current = state;
+            final Object value = current instanceof MapEntries ?
+                    ((MapEntries) current).map.get(key) : ((InlineEntries) current).get(key);
+
+            if (value instanceof PrimitiveValue && ((PrimitiveValue) value).size == Longs.BYTES) {
+                //counters are updated in place, so no copy of the entries is needed
+                return ((PrimitiveValue) value).addAndGet(delta);
+            }
+            final long newValue = value == null ? delta : toLong(key, value) + delta;
+            if (replaceValue(current, key, value, new PrimitiveValue(Longs.BYTES, newValue))) {
+                return newValue;
+            }
+        }
+    }
+
+    @NotNull
+    @Override
+    public Optional<byte[]> get(@NotNull final String key) {
+        Preconditions.checkNotNull(key, "Key must not be null");
+        final Object value = getValue(key);
+        return value == null ? Optional.<byte[]>absent() : copyBytes(value);
+    }
+
+    @NotNull
+    @Override
+    public Optional<String> getAsString(@NotNull final String key) {
+        return getAsString(key, Charsets.UTF_8);
+    }
+
+    @NotNull
+    @Override
+    public Optional<String> getAsString(@NotNull final String key, @NotNull final Charset charset) {
+        Preconditions.checkNotNull(key, "Key must not be null");
+        Preconditions.checkNotNull(charset, "Charset must not be null");
+        final Object value = getValue(key);
+        if (value == null) {
+            return Optional.absent();
+        }
+        //the string is decoded from the stored bytes, so no copy is needed
+        return Optional.of(new String(toBytes(value).get(), charset));
+    }
+
+    @Override
+    public long getLong(@NotNull final String key, final long defaultValue) {
+        Preconditions.checkNotNull(key, "Key must not be null");
+        final Object value = getValue(key);
+        return value == null ? defaultValue : toLong(key, value);
+    }
+
+    @Override
+    public int getInt(@NotNull final String key, final int defaultValue) {
+        Preconditions.checkNotNull(key, "Key must not be null");
+        final Object value = getValue(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value instanceof PrimitiveValue) {
+            final PrimitiveValue primitive = (PrimitiveValue) value;
+            checkSize(key, primitive.size, Ints.BYTES);
+            return (int) primitive.get();
+        }
+        final byte[] bytes = toBytes(value).get();
+        checkSize(key, bytes.length, Ints.BYTES);
+        return Ints.fromByteArray(bytes);
+    }
+
+    @NotNull
+    @Override
+    public Optional<ImmutableMap<String, byte[]>> getAll() {
+        final Object current = state;
+        if (current instanceof MapEntries) {
+            return ((MapEntries) current).snapshot();
+        }
+        return ((InlineEntries) current).snapshot();
+    }
+
+    @NotNull
+    @Override
+    public Optional<byte[]> remove(@NotNull final String key) {
+        Preconditions.checkNotNull(key, "Key must not be null");
+        while (true) {
+            final Object current = state;
+            if (current instanceof MapEntries) {
+                final Object previous = ((MapEntries) current).remove(key);
+                return previous == null ? Optional.<byte[]>absent() : toBytes(previous);
+            }
+            final InlineEntries entries = (InlineEntries) current;
+            final int index = entries.indexOf(key);
+            if (index < 0) {
+                return Optional.absent();
+            }
+            if (STATE_UPDATER.compareAndSet(this, current, entries.remove(index))) {
+                return toBytes(entries.values[index]);
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        while (true) {
+            final Object current = state;
+            if (current instanceof MapEntries) {
+                ((MapEntries) current).clear();
+                return;
+            }
+            if (current == InlineEntries.EMPTY || STATE_UPDATER.compareAndSet(this, current, InlineEntries.EMPTY)) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public boolean isAccessible() {
+        return true;
+    }
+
+    private Object getValue(final String key) {
+        final Object current = state;
+        if (current instanceof MapEntries) {
+            return ((MapEntries) current).map.get(key);
+        }
+        return ((InlineEntries) current).get(key);
+    }
+
+    /**
+     * @param value either an {@link Optional} of a byte array or a {@link PrimitiveValue}
+     */
+    private void putValue(final String key, final Object value) {
+        while (true) {
+            final Object current = state;
+            if (current instanceof MapEntries) {
+                ((MapEntries) current).put(key, value);
+                return;
+            }
+            if (STATE_UPDATER.compareAndSet(this, current, ((InlineEntries) current).put(key, value))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Replaces the value for the given key, if it is still the expected value.
+     *
+     * @return <code>true</code> if the value was replaced, <code>false</code> if it has to be retried
+     */
+    private boolean replaceValue(final Object current, final String key, final Object expected, final Object value) {
+        if (current instanceof MapEntries) {
+            final MapEntries entries = (MapEntries) current;
+            final boolean replaced = expected == null ?
+                    entries.map.putIfAbsent(key, value) == null : entries.map.replace(key, expected, value);
+            if (replaced) {
+                entries.version.incrementAndGet();
+            }
+            return replaced;
+        }
+        return STATE_UPDATER.compareAndSet(this, current, ((InlineEntries) current).put(key, value));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Optional<byte[]> toBytes(final Object value) {
+        if (value instanceof PrimitiveValue) {
+            final PrimitiveValue primitive = (PrimitiveValue) value;
+            return Optional.of(primitive.size == Ints.BYTES ?
+                    Ints.toByteArray((int) primitive.get()) : Longs.toByteArray(primitive.get()));
+        }
+        return (Optional<byte[]>) value;
+    }
+
+    /**
+     * @return the bytes of the given value, which are copied if the value is a stored byte array
+     */
+    private static Optional<byte[]> copyBytes(final Object value) {
+        if (value instanceof PrimitiveValue) {
+            return toBytes(value);
+        }
+        return Optional.of(toBytes(value).get().clone());
+    }
+
+    private static long toLong(final String key, final Object value) {
+        if (value instanceof PrimitiveValue) {
+            final PrimitiveValue primitive = (PrimitiveValue) value;
+            checkSize(key, primitive.size, Longs.BYTES);
+            return primitive.get();
+        }
+        final byte[] bytes = toBytes(value).get();
+        checkSize(key, bytes.length, Longs.BYTES);
+        return Longs.fromByteArray(bytes);
+    }
+
+    private static void checkSize(final String key, final int size, final int expectedSize) {
+        if (size != expectedSize) {
+            throw new IllegalStateException("The connection attribute " + key + " has " + size + " bytes but " + expectedSize + " bytes were expected");
+        }
+    }
+
+    /**
+     * A long or int value which is kept in primitive form. Long values are updated in place by
+     * {@link #addAndGetLong(String, long)}.
+     */
+    private static class PrimitiveValue {
+
+        private static final AtomicLongFieldUpdater<PrimitiveValue> VALUE_UPDATER =
+                AtomicLongFieldUpdater.newUpdater(PrimitiveValue.class, "value");
+
+        /**
+         * The size of the encoded value in bytes, {@link Longs#BYTES} or {@link Ints#BYTES}
+         */
+        private final int size;
+
+        private volatile long value;
+
+        private PrimitiveValue(final int size, final long value) {
+            this.size = size;
+            this.value = value;
+        }
+
+        private long get() {
+            return value;
+        }
+
+        private long addAndGet(final long delta) {
+            return VALUE_UPDATER.addAndGet(this, delta);
+        }
+    }
+
+    /**
+     * An immutable array of keys and values. Every modification creates a copy.
+     */
+    private static class InlineEntries {
+
+        private static final InlineEntries EMPTY = new InlineEntries(new String[0], new Object[0]);
+
+        private final String[] keys;
+
+        /**
+         * Either an {@link Optional} of a byte array or a {@link PrimitiveValue}
+         */
+        private final Object[] values;
+
+        /**
+         * Lazily built result of {@link #getAll()}. Building it concurrently is harmless, as all results are equal.
+         */
+        private volatile Optional<ImmutableMap<String, byte[]>> snapshot;
+
+        private InlineEntries(final String[] keys, final Object[] values) {
+            this.keys = keys;
+            this.values = values;
+        }
+
+        private int indexOf(final String key) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i].equals(key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private Object get(final String key) {
+            final int index = indexOf(key);
+            return index < 0 ? null : values[index];
+        }
+
+        /**
+         * @return the new entries, which are {@link MapEntries} if the {@link #INLINE_CAPACITY} is exceeded
+         */
+        private Object put(final String key, final Object value) {
+            final int index = indexOf(key);
+            if (index >= 0) {
+                final Object[] newValues = values.clone();
+                newValues[index] = value;
+                return new InlineEntries(keys, newValues);
+            }
+            if (keys.length >= INLINE_CAPACITY) {
+                return new MapEntries(this, key, value);
+            }
+            final String[] newKeys = Arrays.copyOf(keys, keys.length + 1);
+            final Object[] newValues = Arrays.copyOf(values, values.length + 1);
+            newKeys[keys.length] = key;
+            newValues[values.length] = value;
+            return new InlineEntries(newKeys, newValues);
+        }
+
+        private InlineEntries remove(final int index) {
+            if (keys.length == 1) {
+                return EMPTY;
+            }
+            final String[] newKeys = Arrays.copyOf(keys, keys.length - 1);
+            final Object[] newValues = Arrays.copyOf(values, values.length - 1);
+            if (index < newKeys.length) {
+                newKeys[index] = keys[keys.length - 1];
+                newValues[index] = values[values.length - 1];
+            }
+            return new InlineEntries(newKeys, newValues);
+        }
+
+        private Optional<ImmutableMap<String, byte[]>> snapshot() {
+            Optional<ImmutableMap<String, byte[]>> result = snapshot;
+            if (result != null) {
+                return result;
+            }
+            if (keys.length == 0) {
+                result = Optional.absent();
+            } else {
+                final ImmutableMap.Builder<String, byte[]> builder = ImmutableMap.builder();
+                boolean mutable = false;
+                for (int i = 0; i < keys.length; i++) {
+                    builder.put(keys[i], copyBytes(values[i]).get());
+                    mutable |= values[i] instanceof PrimitiveValue;
+                }
+                result = Optional.of(builder.build());
+                if (mutable) {
+                    //counters are updated in place, so the snapshot can't be cached
+                    return result;
+                }
+            }
+            snapshot = result;
+            return result;
+        }
+    }
+
+    /**
+     * The entries of stores which exceeded the {@link #INLINE_CAPACITY}.
+     */
+    private static class MapEntries {
+
+        /**
+         * The values are either an {@link Optional} of a byte array or a {@link PrimitiveValue}
+         */
+        private final ConcurrentHashMap<String, Object> map = new ConcurrentHashMap<>();
+
+        /**
+         * Incremented after every modification, used to detect outdated snapshots
+         */
+        private final AtomicLong version = new AtomicLong();
+
+        private volatile Snapshot snapshot;
+
+        private MapEntries(final InlineEntries entries, final String key, final Object value) {
+            for (int i = 0; i < entries.keys.length; i++) {
+                map.put(entries.keys[i], entries.values[i]);
+            }
+            map.put(key, value);
+        }
+
+        private void put(final String key, final Object value) {
+            map.put(key, value);
+            version.incrementAndGet();
+        }
+
+        private Object remove(final String key) {
+            final Object previous = map.remove(key);
+            if (previous != null) {
+                version.incrementAndGet();
+            }
+            return previous;
+        }
+
+        private void clear() {
+            map.clear();
+            version.incrementAndGet();
+        }
+
+        private Optional<ImmutableMap<String, byte[]>> snapshot() {
+            final long currentVersion = version.get();
+            final Snapshot cached = snapshot;
+            if (cached != null && cached.version == currentVersion) {
+                return cached.attributes;
+            }
+
+            final Optional<ImmutableMap<String, byte[]>> attributes;
+            boolean mutable = false;
+            if (map.isEmpty()) {
+                attributes = Optional.absent();
+            } else {
+                final ImmutableMap.Builder<String, byte[]> builder = ImmutableMap.builder();
+                for (final Map.Entry<String, Object> entry : map.entrySet()) {
+                    builder.put(entry.getKey(), copyBytes(entry.getValue()).get());
+                    mutable |= entry.getValue() instanceof PrimitiveValue;
+                }
+                attributes = Optional.of(builder.build());
+            }
+            //only cache the snapshot if no modification happened while it was built
+            //and it doesn't contain counters, which are updated in place
+            if (!mutable && version.get() == currentVersion) {
+                snapshot = new Snapshot(currentVersion, attributes);
+            }
+            return attributes;
+        }
+    }
+
+    private static class Snapshot {
+
+        private final long version;
+        private final Optional<ImmutableMap<String, byte[]>> attributes;
+
+        private Snapshot(final long version, final Optional<ImmutableMap<String, byte[]>> attributes) {
+            this.version = version;
+            this.attributes = attributes;
+        }
+    }
+}
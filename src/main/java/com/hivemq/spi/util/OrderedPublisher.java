@@ -0,0 +1,161 @@
+/*
+ * Copyright 2018 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.util;
+
+import com.google.common.base.Preconditions;
+import com.hivemq.spi.annotations.NotNull;
+import com.hivemq.spi.annotations.ThreadSafe;
+import com.hivemq.spi.message.PUBLISH;
+import com.hivemq.spi.services.PluginExecutorService;
+import com.hivemq.spi.services.PublishService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Publishes MQTT messages through a {@link PublishService} from multiple threads, while keeping the order of
+ * messages with the same topic.
+ * <p>
+ * Every topic is assigned to one of a fixed amount of serial lanes. The messages of a lane are published one after
+ * another in the order {@link #publish(PUBLISH)} was called, while different lanes publish in parallel on the given
+ * executor, usually the {@link PluginExecutorService}. No thread is blocked while a lane has no messages.
+ * <p>
+ * The order is only guaranteed for calls of {@link #publish(PUBLISH)} which are ordered themselves, e.g. because
+ * they are made from the same thread.
+ * <p>
+ * The lanes are unbounded, so messages which are published faster than the {@link PublishService} accepts them pile
+ * up in memory. Use {@link PublishService#tryPublish(PUBLISH)} directly if back pressure is needed.
+ *
+ * @since 3.4
+ */
+@ThreadSafe
+public class OrderedPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderedPublisher.class);
+
+    /**
+     * The maximum amount of messages a lane publishes before it gives other tasks of the executor a chance to run
+     */
+    private static final int MAX_BATCH_SIZE = 64;
+
+    private final PublishService publishService;
+    private final Executor executor;
+    private final Lane[] lanes;
+
+    /**
+     * @param publishService the publish service the messages will be published with
+     * @param executor       the executor the lanes will run on
+     * @param laneCount      the amount of serial lanes, usually the amount of available processors
+     */
+    public OrderedPublisher(@NotNull final PublishService publishService, @NotNull final Executor executor, final int laneCount) {
+        Preconditions.checkNotNull(publishService, "Publish service must not be null");
+        Preconditions.checkNotNull(executor, "Executor must not be null");
+        Preconditions.checkArgument(laneCount > 0, "Lane count must be greater than 0");
+        this.publishService = publishService;
+        this.executor = executor;
+        this.lanes = new Lane[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new Lane();
+        }
+    }
+
+    /**
+     * Publishes a new MQTT {@link PUBLISH} message with {@link PublishService#publish(PUBLISH)} after all messages
+     * with the same topic which were passed to this method before.
+     *
+     * @param publish object with topic, QoS and message, which should be published to all subscribed clients
+     * @throws NullPointerException       if the given object or its topic is <code>null</code>
+     * @throws RejectedExecutionException if the executor rejected the lane of the message. The message stays queued
+     *                                    and is published the next time its lane runs.
+     */
+    public void publish(@NotNull final PUBLISH publish) {
+        Preconditions.checkNotNull(publish, "Publish must not be null");
+        Preconditions.checkNotNull(publish.getTopic(), "Topic must not be null");
+        lanes[laneIndex(publish.getTopic())].add(publish);
+    }
+
+    /**
+     * @return the amount of serial lanes
+     */
+    public int getLaneCount() {
+        return lanes.length;
+    }
+
+    int laneIndex(@NotNull final String topic) {
+        //spread the bits of the hash code, as topics often only differ in their last characters
+        final int hash = topic.hashCode();
+        return ((hash ^ (hash >>> 16)) & 0x7fffffff) % lanes.length;
+    }
+
+    /**
+     * A queue of messages which is drained by at most one task of the executor at a time.
+     */
+    private class Lane implements Runnable {
+
+        private final Queue<PUBLISH> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private void add(final PUBLISH publish) {
+            queue.offer(publish);
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this);
+                } catch (final RuntimeException e) {
+                    //the lane would otherwise never be scheduled again
+                    scheduled.set(false);
+                    throw e;
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                for (int i = 0; i < MAX_BATCH_SIZE; i++) {
+                    final PUBLISH publish = queue.poll();
+                    if (publish == null) {
+                        break;
+                    }
+                    try {
+                        publishService.publish(publish);
+                    } catch (final RuntimeException e) {
+                        log.error("Could not publish message on topic {}", publish.getTopic(), e);
+                    }
+                }
+            } finally {
+                scheduled.set(false);
+                //messages which were added after the last poll would otherwise wait for the next call of add
+                if (!queue.isEmpty()) {
+                    try {
+                        schedule();
+                    } catch (final RejectedExecutionException e) {
+                        log.warn("Could not reschedule lane, remaining messages are published with the next message of the lane", e);
+                    }
+                }
+            }
+        }
+    }
+}
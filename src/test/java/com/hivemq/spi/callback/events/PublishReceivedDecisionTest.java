@@ -0,0 +1,41 @@
+package com.hivemq.spi.callback.events;
+
+import com.hivemq.spi.message.PUBLISH;
+import com.hivemq.spi.message.QoS;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PublishReceivedDecisionTest {
+
+    @Test(timeout = 5000)
+    public void test_accept() throws Exception {
+        final PublishReceivedDecision decision = PublishReceivedDecision.accept();
+
+        assertEquals(PublishReceivedDecision.Type.ACCEPT, decision.getType());
+        assertNull(decision.getPublish());
+        assertFalse(decision.getDisconnectClient());
+    }
+
+    @Test(timeout = 5000)
+    public void test_reject() throws Exception {
+        assertEquals(PublishReceivedDecision.Type.REJECT, PublishReceivedDecision.reject(false).getType());
+        assertFalse(PublishReceivedDecision.reject(false).getDisconnectClient());
+        assertTrue(PublishReceivedDecision.reject(true).getDisconnectClient());
+    }
+
+    @Test(timeout = 5000)
+    public void test_modify() throws Exception {
+        final PUBLISH publish = new PUBLISH(new byte[]{1}, "topic", QoS.AT_LEAST_ONCE);
+        final PublishReceivedDecision decision = PublishReceivedDecision.modify(publish);
+
+        assertEquals(PublishReceivedDecision.Type.MODIFY, decision.getType());
+        assertSame(publish, decision.getPublish());
+        assertFalse(decision.getDisconnectClient());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_modify_publish_must_not_be_null() throws Exception {
+        PublishReceivedDecision.modify(null);
+    }
+}
@@ -0,0 +1,160 @@
+package com.hivemq.spi.callback.registry;
+
+import com.google.common.base.Ticker;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class CallbackCircuitBreakerTest {
+
+    private static final long WITHIN_BUDGET = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long OVER_BUDGET = TimeUnit.MILLISECONDS.toNanos(20);
+
+    private TestTicker ticker;
+    private CallbackCircuitBreaker circuitBreaker;
+
+    @Before
+    public void setUp() throws Exception {
+        ticker = new TestTicker();
+        circuitBreaker = new CallbackCircuitBreaker(
+                new CallbackLatencyBudget(10, 3, 1000, CallbackLatencyBudget.BypassOutcome.CONTINUE), ticker);
+    }
+
+    @Test(timeout = 5000)
+    public void test_trips_after_consecutive_violations() throws Exception {
+        record(OVER_BUDGET);
+        record(OVER_BUDGET);
+        assertNotEquals(CallbackCircuitBreaker.NO_PERMIT, circuitBreaker.allowCall());
+
+        record(OVER_BUDGET);
+
+        assertEquals(CallbackCircuitBreaker.NO_PERMIT, circuitBreaker.allowCall());
+        assertEquals(CallbackCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals(1, circuitBreaker.getTripCount());
+    }
+
+    @Test(timeout = 5000)
+    public void test_call_within_budget_resets_violations() throws Exception {
+        record(OVER_BUDGET);
+        record(OVER_BUDGET);
+        record(WITHIN_BUDGET);
+        record(OVER_BUDGET);
+        record(OVER_BUDGET);
+
+        assertNotEquals(CallbackCircuitBreaker.NO_PERMIT, circuitBreaker.allowCall());
+        assertEquals(0, circuitBreaker.getTripCount());
+    }
+
+    @Test(timeout = 5000)
+    public void test_closes_after_successful_trial() throws Exception {
+        trip();
+        ticker.advance(TimeUnit.MILLISECONDS.toNanos(1000));
+
+        final long trial = circuitBreaker.allowCall();
+        assertNotEquals(CallbackCircuitBreaker.NO_PERMIT, trial);
+        assertEquals(CallbackCircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        assertEquals(CallbackCircuitBreaker.NO_PERMIT, circuitBreaker.allowCall());
+
+        circuitBreaker.recordCall(trial, WITHIN_BUDGET);
+
+        assertEquals(CallbackCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertNotEquals(CallbackCircuitBreaker.NO_PERMIT, circuitBreaker.allowCall());
+    }
+
+    @Test(timeout = 5000)
+    public void test_opens_again_after_failed_trial() throws Exception {
+        trip();
+        ticker.advance(TimeUnit.MILLISECONDS.toNanos(1000));
+        final long trial = circuitBreaker.allowCall();
+
+        circuitBreaker.recordCall(trial, OVER_BUDGET);
+
+        assertEquals(CallbackCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals(CallbackCircuitBreaker.NO_PERMIT, circuitBreaker.allowCall());
+        assertEquals(2, circuitBreaker.getTripCount());
+    }
+
+    @Test(timeout = 5000)
+    public void test_stays_open_during_probation() throws Exception {
+        trip();
+        ticker.advance(TimeUnit.MILLISECONDS.toNanos(999));
+
+        assertEquals(CallbackCircuitBreaker.NO_PERMIT, circuitBreaker.allowCall());
+    }
+
+    @Test(timeout = 5000)
+    public void test_allows_new_trial_if_trial_is_never_recorded() throws Exception {
+        trip();
+        ticker.advance(TimeUnit.MILLISECONDS.toNanos(1000));
+        final long firstTrial = circuitBreaker.allowCall();
+        assertNotEquals(CallbackCircuitBreaker.NO_PERMIT, firstTrial);
+
+        ticker.advance(TimeUnit.MILLISECONDS.toNanos(999));
+        assertEquals(CallbackCircuitBreaker.NO_PERMIT, circuitBreaker.allowCall());
+
+        ticker.advance(TimeUnit.MILLISECONDS.toNanos(1));
+        final long secondTrial = circuitBreaker.allowCall();
+        assertNotEquals(CallbackCircuitBreaker.NO_PERMIT, secondTrial);
+        assertEquals(CallbackCircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+
+        //the outdated trial doesn't decide about the state anymore
+        circuitBreaker.recordCall(firstTrial, OVER_BUDGET);
+        assertEquals(CallbackCircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+
+        circuitBreaker.recordCall(secondTrial, WITHIN_BUDGET);
+
+        assertEquals(CallbackCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(1, circuitBreaker.getTripCount());
+    }
+
+    @Test(timeout = 5000)
+    public void test_call_allowed_before_trip_does_not_end_trial() throws Exception {
+        final long straggler = circuitBreaker.allowCall();
+        trip();
+        ticker.advance(TimeUnit.MILLISECONDS.toNanos(1000));
+        final long trial = circuitBreaker.allowCall();
+
+        circuitBreaker.recordCall(straggler, WITHIN_BUDGET);
+
+        assertEquals(CallbackCircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        assertEquals(CallbackCircuitBreaker.NO_PERMIT, circuitBreaker.allowCall());
+
+        circuitBreaker.recordCall(trial, OVER_BUDGET);
+
+        assertEquals(CallbackCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals(2, circuitBreaker.getTripCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_budget_must_be_positive() throws Exception {
+        new CallbackLatencyBudget(0, 1, 1, CallbackLatencyBudget.BypassOutcome.REJECT);
+    }
+
+    private void record(final long durationNanos) {
+        circuitBreaker.recordCall(circuitBreaker.allowCall(), durationNanos);
+    }
+
+    private void trip() {
+        for (int i = 0; i < 3; i++) {
+            record(OVER_BUDGET);
+        }
+        assertEquals(CallbackCircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    private static class TestTicker extends Ticker {
+
+        private long nanos;
+
+        @Override
+        public long read() {
+            return nanos;
+        }
+
+        private void advance(final long nanos) {
+            this.nanos += nanos;
+        }
+    }
+}
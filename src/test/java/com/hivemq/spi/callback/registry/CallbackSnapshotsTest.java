@@ -0,0 +1,183 @@
+package com.hivemq.spi.callback.registry;
+
+import com.google.common.collect.ImmutableList;
+import com.hivemq.spi.callback.SynchronousCallback;
+import com.hivemq.spi.callback.events.OnConnectCallback;
+import com.hivemq.spi.callback.events.OnDisconnectCallback;
+import com.hivemq.spi.callback.events.OnPublishReceivedCallback;
+import com.hivemq.spi.callback.exception.OnPublishReceivedException;
+import com.hivemq.spi.callback.exception.RefusedConnectionException;
+import com.hivemq.spi.message.CONNECT;
+import com.hivemq.spi.message.PUBLISH;
+import com.hivemq.spi.security.ClientData;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CallbackSnapshotsTest {
+
+    private CallbackSnapshots snapshots;
+
+    @Before
+    public void setUp() throws Exception {
+        snapshots = new CallbackSnapshots();
+    }
+
+    @Test(timeout = 5000)
+    public void test_empty() throws Exception {
+        assertTrue(snapshots.get(OnConnectCallback.class).isEmpty());
+    }
+
+    @Test(timeout = 5000)
+    public void test_sorted_by_priority() throws Exception {
+        final TestConnectCallback low = new TestConnectCallback(100);
+        final TestConnectCallback high = new TestConnectCallback(1);
+        final TestConnectCallback lowSecond = new TestConnectCallback(100);
+
+        snapshots.add(low);
+        snapshots.add(high);
+        snapshots.add(lowSecond);
+
+        assertEquals(ImmutableList.of(high, low, lowSecond), snapshots.get(OnConnectCallback.class));
+        assertEquals(ImmutableList.of(high, low, lowSecond), snapshots.get(SynchronousCallback.class));
+    }
+
+    @Test(timeout = 5000)
+    public void test_snapshot_is_reused_until_modified() throws Exception {
+        snapshots.add(new TestConnectCallback(1));
+        final ImmutableList<OnConnectCallback> first = snapshots.get(OnConnectCallback.class);
+
+        assertSame(first, snapshots.get(OnConnectCallback.class));
+
+        snapshots.add(new TestConnectCallback(2));
+        assertNotSame(first, snapshots.get(OnConnectCallback.class));
+        assertEquals(2, snapshots.get(OnConnectCallback.class).size());
+    }
+
+    @Test(timeout = 5000)
+    public void test_callback_with_multiple_interfaces() throws Exception {
+        final TestConnectAndDisconnectCallback callback = new TestConnectAndDisconnectCallback();
+        snapshots.add(callback);
+
+        assertEquals(ImmutableList.of(callback), snapshots.get(OnConnectCallback.class));
+        assertEquals(ImmutableList.of(callback), snapshots.get(OnDisconnectCallback.class));
+
+        snapshots.removeAll(OnDisconnectCallback.class);
+        assertTrue(snapshots.get(OnConnectCallback.class).isEmpty());
+    }
+
+    @Test(timeout = 5000)
+    public void test_add_twice_and_remove() throws Exception {
+        final TestConnectCallback callback = new TestConnectCallback(1);
+        snapshots.add(callback);
+        snapshots.add(callback);
+        assertEquals(1, snapshots.get(OnConnectCallback.class).size());
+
+        snapshots.remove(callback);
+        assertTrue(snapshots.get(OnConnectCallback.class).isEmpty());
+    }
+
+    @Test(timeout = 5000)
+    public void test_clear() throws Exception {
+        snapshots.add(new TestConnectCallback(1));
+        snapshots.clear();
+
+        assertTrue(snapshots.get(OnConnectCallback.class).isEmpty());
+    }
+
+    @Test(timeout = 5000)
+    public void test_topic_scoped_callbacks() throws Exception {
+        final TestPublishReceivedCallback unscoped = new TestPublishReceivedCallback(1);
+        final TestPublishReceivedCallback alarms = new TestPublishReceivedCallback(2);
+        final TestPublishReceivedCallback events = new TestPublishReceivedCallback(3);
+        snapshots.add(unscoped);
+        snapshots.add(alarms, "alarms/#");
+        snapshots.add(events, "events/+");
+
+        assertEquals(ImmutableList.of(unscoped, alarms), snapshots.get(OnPublishReceivedCallback.class, "alarms/fire"));
+        assertEquals(ImmutableList.of(unscoped, events), snapshots.get(OnPublishReceivedCallback.class, "events/a"));
+        assertEquals(ImmutableList.of(unscoped), snapshots.get(OnPublishReceivedCallback.class, "other"));
+        assertEquals(ImmutableList.of(unscoped, alarms, events), snapshots.get(OnPublishReceivedCallback.class));
+    }
+
+    @Test(timeout = 5000)
+    public void test_unscoped_snapshot_is_reused_for_topics() throws Exception {
+        snapshots.add(new TestPublishReceivedCallback(1));
+
+        assertSame(snapshots.get(OnPublishReceivedCallback.class), snapshots.get(OnPublishReceivedCallback.class, "a/b"));
+    }
+
+    @Test(timeout = 5000)
+    public void test_removed_scoped_callback_is_not_scoped_when_added_again() throws Exception {
+        final TestPublishReceivedCallback callback = new TestPublishReceivedCallback(1);
+        snapshots.add(callback, "alarms/#");
+        snapshots.remove(callback);
+        snapshots.add(callback);
+
+        assertEquals(ImmutableList.of(callback), snapshots.get(OnPublishReceivedCallback.class, "other"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_invalid_topic_filter() throws Exception {
+        snapshots.add(new TestPublishReceivedCallback(1), "a/#/b");
+    }
+
+    @Test(timeout = 5000)
+    public void test_non_publish_callback_cannot_be_topic_scoped() throws Exception {
+        final TestConnectCallback callback = new TestConnectCallback(1);
+        try {
+            snapshots.add(callback, "alarms/#");
+            fail();
+        } catch (final IllegalArgumentException e) {
+            assertTrue(snapshots.get(OnConnectCallback.class).isEmpty());
+        }
+    }
+
+    private static class TestConnectCallback implements OnConnectCallback {
+
+        private final int priority;
+
+        private TestConnectCallback(final int priority) {
+            this.priority = priority;
+        }
+
+        @Override
+        public void onConnect(final CONNECT connect, final ClientData clientData) throws RefusedConnectionException {
+        }
+
+        @Override
+        public int priority() {
+            return priority;
+        }
+    }
+
+    private static class TestConnectAndDisconnectCallback extends TestConnectCallback implements OnDisconnectCallback {
+
+        private TestConnectAndDisconnectCallback() {
+            super(1);
+        }
+
+        @Override
+        public void onDisconnect(final ClientData clientData, final boolean abruptAbort) {
+        }
+    }
+
+    private static class TestPublishReceivedCallback implements OnPublishReceivedCallback {
+
+        private final int priority;
+
+        private TestPublishReceivedCallback(final int priority) {
+            this.priority = priority;
+        }
+
+        @Override
+        public void onPublishReceived(final PUBLISH publish, final ClientData clientData) throws OnPublishReceivedException {
+        }
+
+        @Override
+        public int priority() {
+            return priority;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.hivemq.spi.callback.registry;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CallbackTopicFilterTest {
+
+    @Test(timeout = 5000)
+    public void test_exact_match() throws Exception {
+        assertTrue(matches("a/b", "a/b"));
+        assertFalse(matches("a/b", "a/c"));
+        assertFalse(matches("a/b", "a/b/c"));
+        assertFalse(matches("a/b", "a"));
+    }
+
+    @Test(timeout = 5000)
+    public void test_multi_level_wildcard() throws Exception {
+        assertTrue(matches("alarms/#", "alarms"));
+        assertTrue(matches("alarms/#", "alarms/fire"));
+        assertTrue(matches("alarms/#", "alarms/fire/floor1"));
+        assertFalse(matches("alarms/#", "events/fire"));
+        assertTrue(matches("#", "any/topic"));
+    }
+
+    @Test(timeout = 5000)
+    public void test_single_level_wildcard() throws Exception {
+        assertTrue(matches("a/+/c", "a/b/c"));
+        assertTrue(matches("a/+", "a/"));
+        assertFalse(matches("a/+/c", "a/b/d"));
+        assertFalse(matches("a/+", "a/b/c"));
+    }
+
+    @Test(timeout = 5000)
+    public void test_wildcards_do_not_match_system_topics() throws Exception {
+        assertFalse(matches("#", "$SYS/broker"));
+        assertFalse(matches("+/broker", "$SYS/broker"));
+        assertTrue(matches("$SYS/#", "$SYS/broker"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_multi_level_wildcard_not_last() throws Exception {
+        CallbackTopicFilter.compile("a/#/b");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_wildcard_not_entire_level() throws Exception {
+        CallbackTopicFilter.compile("a/b+");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_empty_filter() throws Exception {
+        CallbackTopicFilter.compile("");
+    }
+
+    private static boolean matches(final String filter, final String topic) {
+        return CallbackTopicFilter.compile(filter).matches(CallbackTopicFilter.split(topic));
+    }
+}
@@ -0,0 +1,79 @@
+package com.hivemq.spi.message;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class CompactTopicSetTest {
+
+    @Test(timeout = 5000)
+    public void test_topics_are_sorted_and_qos_is_packed() throws Exception {
+        final CompactTopicSet topicSet = CompactTopicSet.of(ImmutableList.of(
+                new Topic("b/c", QoS.EXACTLY_ONCE),
+                new Topic("a/#", QoS.AT_MOST_ONCE),
+                Topic.topicFromString("c")));
+
+        assertEquals(3, topicSet.size());
+        assertEquals("a/#", topicSet.getTopic(0));
+        assertEquals(0, topicSet.getQoSNumber(0));
+        assertEquals("b/c", topicSet.getTopic(1));
+        assertEquals(QoS.EXACTLY_ONCE, topicSet.getQoS(1));
+        assertEquals("c", topicSet.getTopic(2));
+        assertEquals(CompactTopicSet.NO_QOS, topicSet.getQoSNumber(2));
+        assertNull(topicSet.getQoS(2));
+    }
+
+    @Test(timeout = 5000)
+    public void test_last_duplicate_wins() throws Exception {
+        final CompactTopicSet topicSet = CompactTopicSet.of(ImmutableList.of(
+                new Topic("a", QoS.AT_MOST_ONCE),
+                new Topic("a", QoS.AT_LEAST_ONCE)));
+
+        assertEquals(1, topicSet.size());
+        assertEquals(QoS.AT_LEAST_ONCE, topicSet.getQoS("a"));
+    }
+
+    @Test(timeout = 5000)
+    public void test_lookup() throws Exception {
+        final CompactTopicSet topicSet = CompactTopicSet.of(ImmutableList.of(new Topic("a/b", QoS.AT_LEAST_ONCE)));
+
+        assertTrue(topicSet.contains("a/b"));
+        assertFalse(topicSet.contains("a/c"));
+        assertNull(topicSet.getQoS("a/c"));
+        assertTrue(topicSet.indexOf("a/c") < 0);
+    }
+
+    @Test(timeout = 5000)
+    public void test_topics_are_interned() throws Exception {
+        final CompactTopicSet first = CompactTopicSet.of(ImmutableList.of(new Topic(new String("config/global/#"), QoS.AT_MOST_ONCE)));
+        final CompactTopicSet second = CompactTopicSet.of(ImmutableList.of(new Topic(new String("config/global/#"), QoS.AT_MOST_ONCE)));
+
+        assertSame(first.getTopic(0), second.getTopic(0));
+        assertEquals(first, second);
+    }
+
+    @Test(timeout = 5000)
+    public void test_to_topics() throws Exception {
+        final CompactTopicSet topicSet = CompactTopicSet.of(ImmutableList.of(new Topic("a", QoS.AT_LEAST_ONCE)));
+
+        assertEquals(Collections.singleton(new Topic("a", QoS.AT_LEAST_ONCE)), topicSet.toTopics());
+        assertEquals(QoS.AT_LEAST_ONCE, topicSet.toTopics().iterator().next().getQoS());
+    }
+
+    @Test(timeout = 5000)
+    public void test_empty() throws Exception {
+        assertTrue(CompactTopicSet.of(Collections.<Topic>emptyList()).isEmpty());
+        assertSame(CompactTopicSet.empty(), CompactTopicSet.of(Collections.<Topic>emptyList()));
+    }
+
+    @Test(timeout = 5000)
+    public void test_subscribe_without_topics() throws Exception {
+        final SUBSCRIBE subscribe = new SUBSCRIBE();
+        subscribe.setTopics(null);
+
+        assertTrue(subscribe.getTopicSet().isEmpty());
+    }
+}
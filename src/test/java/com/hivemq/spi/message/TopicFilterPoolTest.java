@@ -0,0 +1,45 @@
+package com.hivemq.spi.message;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TopicFilterPoolTest {
+
+    @Test(timeout = 5000)
+    public void test_equal_filters_share_instance() throws Exception {
+        final TopicFilterPool pool = TopicFilterPool.getInstance();
+
+        final String first = pool.intern(new String("config/global/#"));
+        final String second = pool.intern(new String("config/global/#"));
+
+        assertSame(first, second);
+    }
+
+    @Test(timeout = 5000)
+    public void test_intern_topic() throws Exception {
+        final TopicFilterPool pool = TopicFilterPool.getInstance();
+
+        final Topic first = pool.intern(new Topic(new String("a/b"), QoS.AT_LEAST_ONCE));
+        final Topic second = pool.intern(new Topic(new String("a/b"), QoS.AT_MOST_ONCE));
+
+        assertSame(first.getTopic(), second.getTopic());
+        assertEquals(QoS.AT_LEAST_ONCE, first.getQoS());
+        assertEquals(QoS.AT_MOST_ONCE, second.getQoS());
+        assertSame(first, pool.intern(first));
+    }
+
+    @Test(timeout = 5000)
+    public void test_topic_from_string_is_interned() throws Exception {
+        final Topic first = Topic.topicFromString(new String("a/+/c"));
+        final Topic second = Topic.topicFromString(new String("a/+/c"));
+
+        assertSame(first.getTopic(), second.getTopic());
+        assertEquals(first, second);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_null_not_allowed() throws Exception {
+        TopicFilterPool.getInstance().intern((String) null);
+    }
+}
@@ -0,0 +1,37 @@
+package com.hivemq.spi.services;
+
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ClientGroupChunkTest {
+
+    @Test(timeout = 5000)
+    public void test_chunk_with_cursor_is_not_last() throws Exception {
+        final ClientGroupChunk chunk = new ClientGroupChunk(ImmutableSet.of("client1", "client2"), "cursor");
+
+        assertFalse(chunk.isLastChunk());
+        assertEquals("cursor", chunk.getCursor());
+        assertEquals(ImmutableSet.of("client1", "client2"), chunk.getClientIdentifiers());
+    }
+
+    @Test(timeout = 5000)
+    public void test_chunk_without_cursor_is_last() throws Exception {
+        assertTrue(new ClientGroupChunk(ImmutableSet.<String>of(), null).isLastChunk());
+    }
+
+    @Test(timeout = 5000)
+    public void test_client_identifiers_are_copied() throws Exception {
+        final List<String> clients = new ArrayList<>();
+        clients.add("client1");
+        final ClientGroupChunk chunk = new ClientGroupChunk(clients, null);
+
+        clients.add("client2");
+
+        assertEquals(1, chunk.getClientIdentifiers().size());
+    }
+}
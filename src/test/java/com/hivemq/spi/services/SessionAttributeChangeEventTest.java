@@ -0,0 +1,27 @@
+package com.hivemq.spi.services;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SessionAttributeChangeEventTest {
+
+    @Test(timeout = 5000)
+    public void test_clear_without_key() throws Exception {
+        final SessionAttributeChangeEvent event = new SessionAttributeChangeEvent(SessionAttributeChangeType.CLEAR, "client", null, null, 3);
+
+        assertNull(event.getKey());
+        assertNull(event.getValue());
+        assertEquals(3, event.getVersion());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_put_requires_value() throws Exception {
+        new SessionAttributeChangeEvent(SessionAttributeChangeType.PUT, "client", "key", null, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_remove_requires_key() throws Exception {
+        new SessionAttributeChangeEvent(SessionAttributeChangeType.REMOVE, "client", null, null, 1);
+    }
+}
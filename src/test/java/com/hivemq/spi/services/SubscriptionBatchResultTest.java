@@ -0,0 +1,30 @@
+package com.hivemq.spi.services;
+
+import com.google.common.collect.ImmutableMultimap;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SubscriptionBatchResultTest {
+
+    @Test(timeout = 5000)
+    public void test_all_successful() throws Exception {
+        final SubscriptionBatchResult result = new SubscriptionBatchResult(
+                ImmutableMultimap.of("client1", "a/b", "client2", "a/#"), ImmutableMultimap.<String, String>of());
+
+        assertTrue(result.allSuccessful());
+        assertTrue(result.isSuccessful("client1", "a/b"));
+        assertTrue(result.isSuccessful("client2", "a/#"));
+        assertFalse(result.isSuccessful("client1", "a/#"));
+    }
+
+    @Test(timeout = 5000)
+    public void test_partially_failed() throws Exception {
+        final SubscriptionBatchResult result = new SubscriptionBatchResult(
+                ImmutableMultimap.of("client1", "a/b"), ImmutableMultimap.of("client1", "c/d"));
+
+        assertFalse(result.allSuccessful());
+        assertFalse(result.isSuccessful("client1", "c/d"));
+        assertTrue(result.getFailed().containsEntry("client1", "c/d"));
+    }
+}
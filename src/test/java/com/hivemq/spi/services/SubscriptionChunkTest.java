@@ -0,0 +1,47 @@
+package com.hivemq.spi.services;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableMultimap;
+import com.google.common.collect.Multimap;
+import com.hivemq.spi.message.QoS;
+import com.hivemq.spi.message.Topic;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SubscriptionChunkTest {
+
+    @Test(timeout = 5000)
+    public void test_chunk_with_cursor_is_not_last() throws Exception {
+        final SubscriptionChunk chunk = new SubscriptionChunk("node1",
+                ImmutableMultimap.of("client", new Topic("a/b", QoS.AT_LEAST_ONCE)), "cursor");
+
+        assertFalse(chunk.isLastChunk());
+        assertEquals("cursor", chunk.getCursor());
+        assertEquals("node1", chunk.getNodeId());
+        assertEquals(1, chunk.getSubscriptions().size());
+    }
+
+    @Test(timeout = 5000)
+    public void test_chunk_without_cursor_is_last() throws Exception {
+        final SubscriptionChunk chunk = new SubscriptionChunk("node1", ImmutableMultimap.<String, Topic>of(), null);
+
+        assertTrue(chunk.isLastChunk());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_node_id_must_not_be_null() throws Exception {
+        new SubscriptionChunk(null, ImmutableMultimap.<String, Topic>of(), null);
+    }
+
+    @Test(timeout = 5000)
+    public void test_subscriptions_are_copied() throws Exception {
+        final Multimap<String, Topic> subscriptions = HashMultimap.create();
+        subscriptions.put("client", new Topic("a/b", QoS.AT_LEAST_ONCE));
+        final SubscriptionChunk chunk = new SubscriptionChunk("node1", subscriptions, null);
+
+        subscriptions.put("client", new Topic("c/d", QoS.AT_LEAST_ONCE));
+
+        assertEquals(1, chunk.getSubscriptions().size());
+    }
+}
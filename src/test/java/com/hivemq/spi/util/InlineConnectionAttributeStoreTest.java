@@ -0,0 +1,253 @@
+package com.hivemq.spi.util;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.primitives.Ints;
+import com.google.common.primitives.Longs;
+import com.hivemq.spi.callback.exception.LimitExceededException;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class InlineConnectionAttributeStoreTest {
+
+    private InlineConnectionAttributeStore store;
+
+    @Before
+    public void setUp() throws Exception {
+        store = new InlineConnectionAttributeStore();
+    }
+
+    @Test(timeout = 5000)
+    public void test_put_get_remove() throws Exception {
+        store.put("key", new byte[]{1, 2});
+
+        assertArrayEquals(new byte[]{1, 2}, store.get("key").get());
+        assertArrayEquals(new byte[]{1, 2}, store.remove("key").get());
+        assertFalse(store.get("key").isPresent());
+        assertFalse(store.remove("key").isPresent());
+    }
+
+    @Test(timeout = 5000)
+    public void test_stored_value_is_not_shared() throws Exception {
+        final byte[] value = {1, 2};
+        store.put("key", value);
+        value[0] = 9;
+
+        store.get("key").get()[1] = 9;
+        store.getAll().get().get("key")[1] = 9;
+
+        assertArrayEquals(new byte[]{1, 2}, store.get("key").get());
+    }
+
+    @Test(timeout = 5000)
+    public void test_stored_value_is_not_shared_beyond_inline_capacity() throws Exception {
+        for (int i = 0; i < InlineConnectionAttributeStore.INLINE_CAPACITY; i++) {
+            store.putInt("key" + i, i);
+        }
+        final byte[] value = {1, 2};
+        store.put("key", value);
+        value[0] = 9;
+
+        store.get("key").get()[1] = 9;
+        store.getAll().get().get("key")[1] = 9;
+
+        assertArrayEquals(new byte[]{1, 2}, store.get("key").get());
+    }
+
+    @Test(timeout = 5000)
+    public void test_put_overwrites() throws Exception {
+        store.putAsString("key", "a");
+        store.putAsString("key", "b");
+
+        assertEquals("b", store.getAsString("key").get());
+        assertEquals(1, store.getAll().get().size());
+    }
+
+    @Test(timeout = 5000)
+    public void test_get_all_is_cached_until_modified() throws Exception {
+        assertFalse(store.getAll().isPresent());
+
+        store.put("key", new byte[]{1});
+        final Optional<ImmutableMap<String, byte[]>> first = store.getAll();
+
+        assertSame(first, store.getAll());
+
+        store.put("other", new byte[]{2});
+
+        assertNotSame(first, store.getAll());
+        assertEquals(2, store.getAll().get().size());
+    }
+
+    @Test(timeout = 5000)
+    public void test_switch_to_map_beyond_inline_capacity() throws Exception {
+        for (int i = 0; i < InlineConnectionAttributeStore.INLINE_CAPACITY * 2; i++) {
+            store.putAsString("key" + i, "value" + i);
+        }
+
+        assertEquals(InlineConnectionAttributeStore.INLINE_CAPACITY * 2, store.getAll().get().size());
+        assertSame(store.getAll(), store.getAll());
+        for (int i = 0; i < InlineConnectionAttributeStore.INLINE_CAPACITY * 2; i++) {
+            assertEquals("value" + i, store.getAsString("key" + i).get());
+        }
+
+        assertEquals("value0", store.getAsString("key0").get());
+        store.remove("key0");
+        assertFalse(store.get("key0").isPresent());
+        assertEquals(InlineConnectionAttributeStore.INLINE_CAPACITY * 2 - 1, store.getAll().get().size());
+
+        store.clear();
+        assertFalse(store.getAll().isPresent());
+    }
+
+    @Test(timeout = 5000)
+    public void test_remove_keeps_other_entries() throws Exception {
+        store.putAsString("a", "1");
+        store.putAsString("b", "2");
+        store.putAsString("c", "3");
+
+        store.remove("a");
+
+        assertEquals("2", store.getAsString("b").get());
+        assertEquals("3", store.getAsString("c").get());
+        assertEquals(2, store.getAll().get().size());
+    }
+
+    @Test(timeout = 5000)
+    public void test_clear() throws Exception {
+        store.putAsString("a", "1");
+        store.clear();
+
+        assertFalse(store.get("a").isPresent());
+        assertFalse(store.getAll().isPresent());
+    }
+
+    @Test(expected = LimitExceededException.class)
+    public void test_value_too_large() throws Exception {
+        store.put("key", new byte[InlineConnectionAttributeStore.MAX_VALUE_SIZE + 1]);
+    }
+
+    @Test(timeout = 10000)
+    public void test_concurrent_puts_are_not_lost() throws Exception {
+        final int threads = 4;
+        final int keysPerThread = 50;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            final int thread = t;
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (final InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < keysPerThread; i++) {
+                        store.putAsString(thread + "-" + i, "value");
+                    }
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(threads * keysPerThread, store.getAll().get().size());
+    }
+
+    @Test(timeout = 5000)
+    public void test_put_long_is_readable_as_bytes() throws Exception {
+        store.putLong("key", 42L);
+
+        assertEquals(42L, store.getLong("key", 0));
+        assertArrayEquals(Longs.toByteArray(42L), store.get("key").get());
+        assertArrayEquals(Longs.toByteArray(42L), store.getAll().get().get("key"));
+    }
+
+    @Test(timeout = 5000)
+    public void test_put_int() throws Exception {
+        store.putInt("key", 7);
+
+        assertEquals(7, store.getInt("key", 0));
+        assertArrayEquals(Ints.toByteArray(7), store.get("key").get());
+    }
+
+    @Test(timeout = 5000)
+    public void test_get_long_and_int_default() throws Exception {
+        assertEquals(5L, store.getLong("key", 5L));
+        assertEquals(5, store.getInt("key", 5));
+    }
+
+    @Test(timeout = 5000)
+    public void test_get_long_from_bytes() throws Exception {
+        store.put("key", Longs.toByteArray(100L));
+
+        assertEquals(100L, store.getLong("key", 0));
+        assertEquals(101L, store.addAndGetLong("key", 1));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void test_get_int_wrong_size() throws Exception {
+        store.putLong("key", 1L);
+        store.getInt("key", 0);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void test_add_and_get_long_wrong_size() throws Exception {
+        store.putAsString("key", "value");
+        store.addAndGetLong("key", 1);
+    }
+
+    @Test(timeout = 5000)
+    public void test_add_and_get_long_absent_starts_at_zero() throws Exception {
+        assertEquals(3L, store.addAndGetLong("key", 3));
+        assertEquals(1L, store.addAndGetLong("key", -2));
+    }
+
+    @Test(timeout = 5000)
+    public void test_get_all_reflects_counter_updates() throws Exception {
+        store.putLong("key", 1L);
+        assertArrayEquals(Longs.toByteArray(1L), store.getAll().get().get("key"));
+
+        store.addAndGetLong("key", 1);
+        assertArrayEquals(Longs.toByteArray(2L), store.getAll().get().get("key"));
+    }
+
+    @Test(timeout = 10000)
+    public void test_concurrent_add_and_get_long() throws Exception {
+        for (int i = 0; i < InlineConnectionAttributeStore.INLINE_CAPACITY; i++) {
+            store.putAsString("filler-" + i, "value");
+        }
+        final int threads = 4;
+        final int incrementsPerThread = 1000;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (final InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < incrementsPerThread; i++) {
+                        store.addAndGetLong("counter", 1);
+                    }
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(threads * incrementsPerThread, store.getLong("counter", 0));
+    }
+}
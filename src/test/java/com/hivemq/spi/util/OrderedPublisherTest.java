@@ -0,0 +1,144 @@
+package com.hivemq.spi.util;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Multimaps;
+import com.google.common.primitives.Ints;
+import com.hivemq.spi.message.PUBLISH;
+import com.hivemq.spi.message.QoS;
+import com.hivemq.spi.services.PublishService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+
+public class OrderedPublisherTest {
+
+    @Mock
+    PublishService publishService;
+
+    private ExecutorService executor;
+
+    private final ListMultimap<String, Integer> published = Multimaps.synchronizedListMultimap(ArrayListMultimap.<String, Integer>create());
+
+    @Before
+    public void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+        executor = Executors.newFixedThreadPool(4);
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(final InvocationOnMock invocation) throws Throwable {
+                final PUBLISH publish = (PUBLISH) invocation.getArguments()[0];
+                published.put(publish.getTopic(), Ints.fromByteArray(publish.getPayload()));
+                return null;
+            }
+        }).when(publishService).publish(any(PUBLISH.class));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        executor.shutdownNow();
+    }
+
+    @Test(timeout = 10000)
+    public void test_order_per_topic_is_kept() throws Exception {
+        final OrderedPublisher orderedPublisher = new OrderedPublisher(publishService, executor, 4);
+        final int topics = 10;
+        final int messagesPerTopic = 500;
+
+        for (int i = 0; i < messagesPerTopic; i++) {
+            for (int t = 0; t < topics; t++) {
+                orderedPublisher.publish(new PUBLISH(Ints.toByteArray(i), "topic/" + t, QoS.AT_MOST_ONCE));
+            }
+        }
+
+        while (published.size() < topics * messagesPerTopic) {
+            Thread.sleep(10);
+        }
+        for (int t = 0; t < topics; t++) {
+            final List<Integer> values = published.get("topic/" + t);
+            assertEquals(messagesPerTopic, values.size());
+            for (int i = 0; i < messagesPerTopic; i++) {
+                assertEquals(i, values.get(i).intValue());
+            }
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void test_failed_publish_does_not_stop_lane() throws Exception {
+        final OrderedPublisher orderedPublisher = new OrderedPublisher(publishService, executor, 1);
+        final PUBLISH failing = new PUBLISH(Ints.toByteArray(0), "failing", QoS.AT_MOST_ONCE);
+        doThrow(new IllegalStateException()).when(publishService).publish(failing);
+
+        orderedPublisher.publish(failing);
+        orderedPublisher.publish(new PUBLISH(Ints.toByteArray(1), "topic", QoS.AT_MOST_ONCE));
+
+        while (published.isEmpty()) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, published.get("topic").get(0).intValue());
+    }
+
+    @Test(timeout = 5000)
+    public void test_same_topic_same_lane() throws Exception {
+        final OrderedPublisher orderedPublisher = new OrderedPublisher(publishService, executor, 7);
+
+        final int lane = orderedPublisher.laneIndex("a/b/c");
+        assertEquals(lane, orderedPublisher.laneIndex(new String("a/b/c")));
+        assertTrue(lane >= 0 && lane < orderedPublisher.getLaneCount());
+    }
+
+    @Test(timeout = 5000)
+    public void test_rejected_lane_is_scheduled_again() throws Exception {
+        final RejectingExecutor rejectingExecutor = new RejectingExecutor();
+        final OrderedPublisher orderedPublisher = new OrderedPublisher(publishService, rejectingExecutor, 1);
+
+        try {
+            orderedPublisher.publish(new PUBLISH(Ints.toByteArray(0), "topic", QoS.AT_MOST_ONCE));
+            fail();
+        } catch (final RejectedExecutionException e) {
+            assertTrue(published.isEmpty());
+        }
+
+        rejectingExecutor.reject = false;
+        orderedPublisher.publish(new PUBLISH(Ints.toByteArray(1), "topic", QoS.AT_MOST_ONCE));
+
+        final List<Integer> values = published.get("topic");
+        assertEquals(2, values.size());
+        assertEquals(0, values.get(0).intValue());
+        assertEquals(1, values.get(1).intValue());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_lane_count_must_be_positive() throws Exception {
+        new OrderedPublisher(publishService, executor, 0);
+    }
+
+    private static class RejectingExecutor implements Executor {
+
+        private boolean reject = true;
+
+        @Override
+        public void execute(final Runnable command) {
+            if (reject) {
+                throw new RejectedExecutionException();
+            }
+            command.run();
+        }
+    }
+}